@@ -0,0 +1,33 @@
+-- =====================================================
+-- COMPLAINT STATUS COUNTERS
+-- =====================================================
+-- Materialized complaint counts per (scope, scope_id, status) read by both dashboards.
+-- System-wide totals are the sum of the DEPARTMENT rows.
+-- The application keeps the table up to date on every complaint insert and status
+-- transition. Run the rebuild section (or `mvn exec:java@reconcile-counters`) after
+-- changing Complaint rows outside the application.
+-- =====================================================
+
+CREATE TABLE Complaint_Status_Counter (
+    counter_scope   VARCHAR2(255) NOT NULL,
+    scope_id        NUMBER(19)    NOT NULL,
+    resolve_status  VARCHAR2(255) NOT NULL,
+    complaint_count NUMBER(19)    NOT NULL,
+    CONSTRAINT pk_complaint_status_counter PRIMARY KEY (counter_scope, scope_id, resolve_status)
+);
+
+-- =====================================================
+-- REBUILD FROM COMPLAINT
+-- =====================================================
+LOCK TABLE Complaint_Status_Counter IN EXCLUSIVE MODE;
+
+DELETE FROM Complaint_Status_Counter;
+
+INSERT INTO Complaint_Status_Counter (counter_scope, scope_id, resolve_status, complaint_count)
+SELECT 'CITIZEN', citizen_id, resolve_status, COUNT(*) FROM Complaint GROUP BY citizen_id, resolve_status;
+
+INSERT INTO Complaint_Status_Counter (counter_scope, scope_id, resolve_status, complaint_count)
+SELECT 'DEPARTMENT', dept_id, resolve_status, COUNT(*) FROM Complaint GROUP BY dept_id, resolve_status;
+
+
+COMMIT;
@@ -0,0 +1,54 @@
+-- =====================================================
+-- COMPLAINT TYPE ROUTING
+-- =====================================================
+-- Maps every complaint type offered on the registration form to the department
+-- that handles it. The application loads this table once into memory; edits take
+-- effect on the next reload (routing.reload.interval.seconds) without a restart.
+-- "Other" is the fallback route for any type without its own row.
+-- Run after the Department section of database_population.sql.
+-- =====================================================
+
+CREATE TABLE Complaint_Type_Route (
+    complaint_type VARCHAR2(255) NOT NULL,
+    dept_id        NUMBER(19)    NOT NULL,
+    display_order  NUMBER(10)    NOT NULL,
+    CONSTRAINT pk_complaint_type_route PRIMARY KEY (complaint_type),
+    CONSTRAINT fk_complaint_type_route_dept FOREIGN KEY (dept_id) REFERENCES Department (dept_id)
+);
+
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Infrastructure Issue', dept_id, 1 FROM Department WHERE dept_name = 'Public Works Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Public Safety', dept_id, 2 FROM Department WHERE dept_name = 'Public Safety Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Sanitation & Hygiene', dept_id, 3 FROM Department WHERE dept_name = 'Sanitation and Waste Management';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Water Supply', dept_id, 4 FROM Department WHERE dept_name = 'Water Supply Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Electricity', dept_id, 5 FROM Department WHERE dept_name = 'Electricity Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Road Maintenance', dept_id, 6 FROM Department WHERE dept_name = 'Roads and Highways Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Drainage Problem', dept_id, 7 FROM Department WHERE dept_name = 'Drainage and Sewerage Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Noise Pollution', dept_id, 8 FROM Department WHERE dept_name = 'Environmental Protection Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Air Pollution', dept_id, 9 FROM Department WHERE dept_name = 'Environmental Protection Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Illegal Construction', dept_id, 10 FROM Department WHERE dept_name = 'Public Works Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Street Lighting', dept_id, 11 FROM Department WHERE dept_name = 'Street Lighting Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Garbage Collection', dept_id, 12 FROM Department WHERE dept_name = 'Sanitation and Waste Management';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Public Transport', dept_id, 13 FROM Department WHERE dept_name = 'Public Transport Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Traffic Management', dept_id, 14 FROM Department WHERE dept_name = 'Traffic Management Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Other', dept_id, 15 FROM Department WHERE dept_name = 'General Administration';
+
+-- Verify routes
+-- SELECT r.display_order, r.complaint_type, d.dept_name
+-- FROM Complaint_Type_Route r JOIN Department d ON d.dept_id = r.dept_id ORDER BY r.display_order;
+
+COMMIT;
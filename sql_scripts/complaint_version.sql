@@ -0,0 +1,11 @@
+-- =====================================================
+-- COMPLAINT OPTIMISTIC LOCK
+-- =====================================================
+-- Every status transition is a conditional UPDATE that also increments version,
+-- so concurrent changes by two authorities are detected instead of overwritten.
+-- Existing rows start at version 0.
+-- =====================================================
+
+ALTER TABLE Complaint ADD version NUMBER(19) DEFAULT 0 NOT NULL;
+
+COMMIT;
@@ -0,0 +1,22 @@
+-- =====================================================
+-- DASHBOARD INDEXES
+-- =====================================================
+-- Composite indexes matching the list queries of the three screens. The same
+-- indexes are declared with @Index on Complaint and Response; the application
+-- checks at startup that they exist and warns if one is missing.
+-- Run before status_rank.sql, which replaces the authority dashboard index with
+-- idx_complaint_dept_rank_date once the status_rank column exists.
+-- =====================================================
+
+-- Citizen dashboard: most recent complaints of a citizen
+CREATE INDEX idx_complaint_citizen_date ON Complaint (citizen_id, complaint_date);
+
+-- Authority dashboard: a department's complaints by status and date (replaced by status_rank.sql)
+CREATE INDEX idx_complaint_dept_status_date ON Complaint (dept_id, resolve_status, complaint_date);
+
+-- View/respond screens: responses of a complaint in date order
+CREATE INDEX idx_response_complaint_date ON Response (complaint_id, response_date);
+
+-- Verify
+-- SELECT index_name, column_name, column_position FROM user_ind_columns
+-- WHERE table_name IN ('COMPLAINT', 'RESPONSE') ORDER BY index_name, column_position;
@@ -6,6 +6,10 @@
 -- 
 -- DO NOT RUN THESE QUERIES DIRECTLY IN THIS FILE
 -- Execute them individually in your Oracle SQL environment
+-- Run sequence_ids.sql first: it sets the id sequences as column
+-- defaults so these INSERTs can leave the id columns out
+-- On a database created by SchemaMigrationTool, migration V2
+-- already inserts the departments; skip section 1
 -- =====================================================
 
 -- =====================================================
@@ -36,6 +40,8 @@ INSERT INTO Department (dept_name) VALUES ('General Administration');
 
 COMMIT;
 
+-- Complaint types are routed to these departments by complaint_type_route.sql
+
 -- =====================================================
 -- 2. SAMPLE CITIZENS POPULATION
 -- =====================================================
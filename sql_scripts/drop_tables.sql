@@ -1,11 +1,19 @@
 -- Drop all existing tables to start fresh with new 3NF schema
 -- Run this script in SQL*Plus or Oracle SQL Developer before running DatabaseTest
 
+DROP VIEW Account_View;
+DROP TABLE Schema_Version CASCADE CONSTRAINTS;
+DROP TABLE Complaint_Status_Counter CASCADE CONSTRAINTS;
+DROP TABLE Complaint_Type_Route CASCADE CONSTRAINTS;
 DROP TABLE Response CASCADE CONSTRAINTS;
 DROP TABLE Complaint CASCADE CONSTRAINTS;
 DROP TABLE Authority CASCADE CONSTRAINTS;
 DROP TABLE Citizen CASCADE CONSTRAINTS;
 DROP TABLE Department CASCADE CONSTRAINTS;
+DROP SEQUENCE Response_SEQ;
+DROP SEQUENCE Complaint_SEQ;
+DROP SEQUENCE Authority_SEQ;
+DROP SEQUENCE Citizen_SEQ;
+DROP SEQUENCE Department_SEQ;
 
--- Now run your Java application with hibernate.hbm2ddl.auto=create-drop
--- It will create fresh tables with the new schema
+-- Now run `mvn exec:java@migrate` to create fresh tables from db/migration
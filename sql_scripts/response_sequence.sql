@@ -0,0 +1,17 @@
+-- =====================================================
+-- RESPONSE ID SEQUENCE
+-- =====================================================
+-- ResponseRepository takes response_id values from this sequence in blocks of 50
+-- (one NEXTVAL per 50 responses), so INCREMENT BY must stay 50.
+-- The sequence starts above every existing response_id, so ids handed out from now
+-- on never collide with rows created by the old MAX()+1 scheme.
+-- =====================================================
+
+DECLARE
+    start_value NUMBER;
+BEGIN
+    SELECT NVL(MAX(response_id), 0) + 1 INTO start_value FROM Response;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE Response_SEQ START WITH ' || start_value ||
+                      ' INCREMENT BY 50 CACHE 20 NOORDER';
+END;
+/
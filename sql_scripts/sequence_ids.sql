@@ -0,0 +1,41 @@
+-- =====================================================
+-- SEQUENCE-BASED IDS
+-- =====================================================
+-- Department, Citizen, Authority and Complaint ids come from sequences that the
+-- application reads in blocks of 50 (Hibernate pooled-lo optimizer). Unlike identity
+-- columns this lets Hibernate batch inserts (hibernate.jdbc.batch_size).
+--
+-- Safe to run on any existing database, once or repeatedly:
+--   * drops the IDENTITY property from the id columns of databases created before,
+--   * creates each sequence starting above the current maximum id (INCREMENT BY must
+--     stay 50 to match allocationSize),
+--   * sets the sequence as column default so hand-written INSERTs such as
+--     database_population.sql keep working without an id.
+-- =====================================================
+
+DECLARE
+    TYPE name_list IS TABLE OF VARCHAR2(128);
+    tables     name_list := name_list('DEPARTMENT', 'CITIZEN', 'AUTHORITY', 'COMPLAINT');
+    id_columns name_list := name_list('DEPT_ID', 'CITIZEN_ID', 'AUTHORITY_ID', 'COMPLAINT_ID');
+    sequences  name_list := name_list('DEPARTMENT_SEQ', 'CITIZEN_SEQ', 'AUTHORITY_SEQ', 'COMPLAINT_SEQ');
+    found      NUMBER;
+    start_id   NUMBER;
+BEGIN
+    FOR i IN 1 .. tables.COUNT LOOP
+        SELECT COUNT(*) INTO found FROM user_tab_identity_cols
+        WHERE table_name = tables(i) AND column_name = id_columns(i);
+        IF found > 0 THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE ' || tables(i) || ' MODIFY ' || id_columns(i) || ' DROP IDENTITY';
+        END IF;
+
+        SELECT COUNT(*) INTO found FROM user_sequences WHERE sequence_name = sequences(i);
+        IF found = 0 THEN
+            EXECUTE IMMEDIATE 'SELECT NVL(MAX(' || id_columns(i) || '), 0) + 1 FROM ' || tables(i) INTO start_id;
+            EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || sequences(i) || ' START WITH ' || start_id || ' INCREMENT BY 50';
+        END IF;
+
+        EXECUTE IMMEDIATE 'ALTER TABLE ' || tables(i) || ' MODIFY ' || id_columns(i)
+            || ' DEFAULT ' || sequences(i) || '.NEXTVAL';
+    END LOOP;
+END;
+/
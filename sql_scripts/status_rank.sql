@@ -0,0 +1,29 @@
+-- =====================================================
+-- COMPLAINT STATUS RANK
+-- =====================================================
+-- status_rank stores ComplaintStatus.getRank() (UNREAD 1, READ 2, IN_PROGRESS 3,
+-- CLOSED 4) next to resolve_status. The authority dashboard orders by
+-- (status_rank, complaint_date DESC, complaint_id DESC) within a department, which
+-- idx_complaint_dept_rank_date serves directly, so a page is an index range scan
+-- instead of a sort of the whole department.
+-- The application sets the column on every insert and status transition.
+-- Run once, after dashboard_indexes.sql: this is the only script that creates
+-- idx_complaint_dept_rank_date.
+-- =====================================================
+
+ALTER TABLE Complaint ADD status_rank NUMBER(10);
+
+UPDATE Complaint SET status_rank = CASE resolve_status
+    WHEN 'UNREAD' THEN 1
+    WHEN 'READ' THEN 2
+    WHEN 'IN_PROGRESS' THEN 3
+    WHEN 'CLOSED' THEN 4
+END;
+
+ALTER TABLE Complaint MODIFY status_rank NOT NULL;
+
+-- Replaces the (dept_id, resolve_status, complaint_date) index from dashboard_indexes.sql
+DROP INDEX idx_complaint_dept_status_date;
+CREATE INDEX idx_complaint_dept_rank_date ON Complaint (dept_id, status_rank, complaint_date DESC, complaint_id DESC);
+
+COMMIT;
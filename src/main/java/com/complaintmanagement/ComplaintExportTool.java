@@ -0,0 +1,84 @@
+package com.complaintmanagement;
+
+import com.complaintmanagement.exporter.ComplaintExporter;
+import com.complaintmanagement.exporter.ExportFilter;
+import com.complaintmanagement.exporter.ExportReport;
+import com.complaintmanagement.model.ComplaintStatus;
+import com.complaintmanagement.model.Department;
+import com.complaintmanagement.repository.DepartmentRepository;
+import com.complaintmanagement.repository.RepositoryExecutor;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Exports complaints with their responses to CSV or JSON Lines without starting the UI.
+ *
+ * Usage: mvn exec:java@export-complaints -Dexec.args="out.csv[.gz] [department=Name] [from=2025-01-01] [to=2025-02-01] [status=CLOSED]"
+ * The output format follows the file name (.csv, .jsonl or .ndjson, optionally .gz);
+ * "to" is exclusive. Set HIBERNATE_SHOW_SQL=false to keep the console quiet.
+ */
+public class ComplaintExportTool {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ComplaintExportTool <file.csv|file.jsonl>[.gz] "
+                + "[department=Name] [from=YYYY-MM-DD] [to=YYYY-MM-DD] [status=STATUS]");
+            return;
+        }
+        if (!DatabaseConnection.testConnection()) {
+            System.err.println("DB connection failed. Exiting export.");
+            return;
+        }
+        try {
+            ExportFilter filter = parseFilter(args);
+            System.out.println("Exporting complaints to " + args[0] + "...");
+            ExportReport report = new ComplaintExporter().export(filter, Path.of(args[0]));
+            
+            System.out.println("\n=== EXPORT SUMMARY ===");
+            System.out.println("File: " + report.file());
+            System.out.println("Complaints: " + report.complaints());
+            System.out.println("Responses: " + report.responses());
+            System.out.println("Size: " + report.bytes() + " bytes");
+            System.out.println("Time: " + report.millis() + " ms");
+            System.out.println("✓ Export complete\n");
+        } catch (Exception e) {
+            System.err.println("❌ Export failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            RepositoryExecutor.shutdown();
+            DatabaseConnection.close();
+        }
+    }
+    
+    private static ExportFilter parseFilter(String[] args) {
+        Long deptId = null;
+        Date from = null;
+        Date to = null;
+        ComplaintStatus status = null;
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected name=value but got '" + args[i] + "'");
+            }
+            switch (option[0]) {
+                case "department" -> {
+                    Department department = new DepartmentRepository().findByName(option[1]).join()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown department '" + option[1] + "'"));
+                    deptId = department.getDept_id();
+                }
+                case "from" -> from = startOfDay(option[1]);
+                case "to" -> to = startOfDay(option[1]);
+                case "status" -> status = ComplaintStatus.valueOf(option[1].toUpperCase(Locale.ROOT));
+                default -> throw new IllegalArgumentException("Unknown option '" + option[0] + "'");
+            }
+        }
+        return new ExportFilter(deptId, from, to, status);
+    }
+    
+    private static Date startOfDay(String date) {
+        return Date.from(LocalDate.parse(date).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
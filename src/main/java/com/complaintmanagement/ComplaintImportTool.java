@@ -0,0 +1,79 @@
+package com.complaintmanagement;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.importer.ComplaintImporter;
+import com.complaintmanagement.importer.ImportListener;
+import com.complaintmanagement.importer.ImportProblem;
+import com.complaintmanagement.importer.ImportReport;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.service.ComplaintRoutingTable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bulk-imports complaints collected offline from a CSV or JSON file.
+ *
+ * Usage: mvn exec:java@import-complaints -Dexec.args="complaints.csv [batchSize]"
+ * Accepts .csv, .json, .jsonl and .ndjson files, optionally gzipped.
+ * Set HIBERNATE_SHOW_SQL=false for large files; otherwise every insert is logged.
+ */
+public class ComplaintImportTool {
+
+    private static final long PROGRESS_INTERVAL = 10_000;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ComplaintImportTool <file.csv|file.json|file.jsonl>[.gz] [batchSize]");
+            return;
+        }
+        Path file = Path.of(args[0]);
+        if (!Files.isRegularFile(file)) {
+            System.err.println("Import file not found: " + file.toAbsolutePath());
+            return;
+        }
+        if (!DatabaseConnection.testConnection()) {
+            System.err.println("DB connection failed. Exiting import.");
+            return;
+        }
+        try {
+            int batchSize = args.length > 1
+                ? Integer.parseInt(args[1])
+                : Integer.parseInt(DatabaseConfig.getSetting("import.batch.size", "500"));
+            ComplaintImporter importer = new ComplaintImporter(
+                DatabaseConfig::getEntityManagerFactory, ComplaintRoutingTable.shared(), batchSize);
+            
+            System.out.println("Importing complaints from " + file + " (batch size " + batchSize + ")...");
+            ImportReport report = importer.importFile(file, new ImportListener() {
+                private long nextReport = PROGRESS_INTERVAL;
+                
+                @Override
+                public void onProgress(long read, long imported, long rejected) {
+                    if (read >= nextReport) {
+                        System.out.println("  " + read + " read, " + imported + " imported, " + rejected + " rejected");
+                        nextReport = (read / PROGRESS_INTERVAL + 1) * PROGRESS_INTERVAL;
+                    }
+                }
+                
+                @Override
+                public void onProblem(ImportProblem problem) {
+                    System.err.println("  ⚠ " + problem);
+                }
+            });
+            
+            System.out.println("\n=== IMPORT SUMMARY ===");
+            System.out.println("Read: " + report.read());
+            System.out.println("Imported: " + report.imported());
+            System.out.println("Rejected: " + report.rejected());
+            System.out.println("Time: " + report.millis() + " ms (" + report.rowsPerSecond() + " rows/s)");
+            System.out.println(report.rejected() == 0
+                ? "✓ Import complete\n" : "⚠ Import complete with rejected rows\n");
+        } catch (Exception e) {
+            System.err.println("❌ Import failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            RepositoryExecutor.shutdown();
+            DatabaseConnection.close();
+        }
+    }
+}
@@ -1,9 +1,45 @@
 package com.complaintmanagement;
 
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.exporter.ComplaintExporter;
+import com.complaintmanagement.exporter.ExportFilter;
 import com.complaintmanagement.model.*;
+import com.complaintmanagement.repository.AccountPrincipal;
+import com.complaintmanagement.repository.AccountRepository;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.ComplaintSummary;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.repository.ResponseRepository;
+import com.complaintmanagement.repository.SchemaVerifier;
+import com.complaintmanagement.repository.StatusCounterRepository;
+import com.complaintmanagement.repository.StatusTransition;
+import com.complaintmanagement.repository.UnitOfWork;
+import com.complaintmanagement.service.AccountLookupService;
+import com.complaintmanagement.service.ComplaintSearchIndex;
+import com.complaintmanagement.service.DuplicateCandidate;
+import com.complaintmanagement.service.DuplicateComplaintDetector;
+import com.complaintmanagement.service.LoginThrottle;
+import com.complaintmanagement.service.LoginThrottledException;
+import com.complaintmanagement.service.Permission;
+import com.complaintmanagement.service.SearchHit;
+import com.complaintmanagement.service.SessionContext;
+import com.complaintmanagement.service.UserSession;
+import com.complaintmanagement.service.UsernameFilter;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.stat.Statistics;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Comprehensive system test for Complaint Management System
@@ -13,6 +49,11 @@ import java.util.List;
  * - Complaint CRUD operations
  * - Response functionality
  * - Data integrity
+ * - Statement counts of the list views
+ * - Second-level cache hits for reference data
+ * - Concurrent response id allocation
+ * - Conflicting status transitions
+ * - Dashboard indexes
  */
 public class CompleteSystemTest {
     
@@ -42,6 +83,21 @@ public class CompleteSystemTest {
         testResponseRetrieval();
         testDepartmentComplaintMapping();
         testDataIntegrity();
+        testListStatementCounts();
+        testSecondLevelCache();
+        testConcurrentResponseIds();
+        testConflictingTransitions();
+        testStatusCounters();
+        testDashboardIndexes();
+        testComplaintSearch();
+        testDuplicateDetection();
+        testAccountLookup();
+        testLoginThrottle();
+        testUsernameFilter();
+        testUsernameFilterLateAccounts();
+        testSessionContext();
+        testUnitsOfWork();
+        testCsvExportRows();
         
         // Print summary
         printTestSummary();
@@ -246,6 +302,609 @@ public class CompleteSystemTest {
         });
     }
     
+    private static void testListStatementCounts() {
+        runTest("List Views Use A Constant Number Of Statements", () -> {
+            Statistics statistics = DatabaseConfig.getStatistics();
+            statistics.setStatisticsEnabled(true);
+            try {
+                // Largest department page the authority dashboard can ask for
+                List<Long> departments = em.createQuery(
+                    "SELECT c.department.dept_id FROM Complaint c " +
+                    "GROUP BY c.department.dept_id ORDER BY COUNT(c) DESC", Long.class)
+                    .setMaxResults(1)
+                    .getResultList();
+                if (departments.isEmpty()) {
+                    System.out.println("   ⚠ No complaints found. Database may need population.");
+                    return true;
+                }
+                
+                statistics.clear();
+                List<ComplaintSummary> page = new ComplaintRepository()
+                    .findDepartmentPage(departments.get(0), null, 200).join();
+                long pageStatements = statistics.getPrepareStatementCount();
+                System.out.println("   Department page: " + page.size() + " rows, " + pageStatements + " statement(s)");
+                
+                // Complaint with the most responses, rendered with its authorities
+                List<Long> complaints = em.createQuery(
+                    "SELECT r.id.complaint_id FROM Response r " +
+                    "GROUP BY r.id.complaint_id ORDER BY COUNT(r) DESC", Long.class)
+                    .setMaxResults(1)
+                    .getResultList();
+                long responseStatements = 1;
+                if (!complaints.isEmpty()) {
+                    statistics.clear();
+                    List<Response> responses = new ResponseRepository()
+                        .findByComplaint(complaints.get(0), false).join();
+                    // Detached results: this would throw if the authorities were not loaded
+                    responses.forEach(r -> r.getAuthority().getAuthority_username());
+                    responseStatements = statistics.getPrepareStatementCount();
+                    System.out.println("   Responses: " + responses.size() + " rows, " + responseStatements + " statement(s)");
+                }
+                
+                return pageStatements == 1 && responseStatements == 1;
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+        });
+    }
+    
+    private static void testSecondLevelCache() {
+        runTest("Second-Level Cache Serves Authority Lookups", () -> {
+            List<Authority> authorities = em.createQuery("SELECT a FROM Authority a", Authority.class)
+                .setMaxResults(1)
+                .getResultList();
+            if (authorities.isEmpty()) {
+                System.out.println("   ⚠ No authority users found. Database may need population.");
+                return true;
+            }
+            Authority sample = authorities.get(0);
+            
+            Statistics statistics = DatabaseConfig.getStatistics();
+            statistics.setStatisticsEnabled(true);
+            try {
+                statistics.clear();
+                AccountRepository accounts = new AccountRepository();
+                // Same lookup the dashboard and respond screens repeat on every visit
+                for (int i = 0; i < 3; i++) {
+                    accounts.findAuthority(sample.getAuthority_id()).join();
+                }
+                long statements = statistics.getPrepareStatementCount();
+                System.out.println("   Entity cache: hits=" + statistics.getSecondLevelCacheHitCount()
+                        + ", misses=" + statistics.getSecondLevelCacheMissCount());
+                System.out.println("   Statements for 3 lookups: " + statements);
+                
+                // Login resolves the same authority through Account_View
+                Optional<AccountPrincipal> principal = accounts.findAccountByCredentials(
+                        sample.getAuthority_username(), sample.getAuthority_password()).join();
+                boolean loginMatches = principal
+                    .filter(p -> p.role() == AccountPrincipal.Role.AUTHORITY)
+                    .filter(p -> p.accountId().equals(sample.getAuthority_id()))
+                    .isPresent();
+                System.out.println("   Credential lookup resolved authority: " + loginMatches);
+                
+                // At most one miss before everything is served from memory
+                return statistics.getSecondLevelCacheHitCount() > 0 && statements <= 1 && loginMatches;
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+        });
+    }
+    
+    private static void testConcurrentResponseIds() {
+        runTest("Concurrent Response Submission", () -> {
+            List<Citizen> citizens = em.createQuery("SELECT c FROM Citizen c", Citizen.class)
+                .setMaxResults(1).getResultList();
+            List<Authority> authorities = em.createQuery("SELECT a FROM Authority a", Authority.class)
+                .setMaxResults(2).getResultList();
+            if (citizens.isEmpty() || authorities.isEmpty()) {
+                System.out.println("   ⚠ Need at least one citizen and authority. Database may need population.");
+                return true;
+            }
+            
+            // Scratch complaint so the stress run does not touch real data
+            Complaint scratch = new Complaint("Other", authorities.get(0).getDepartment(),
+                "Response id stress test", "Created by CompleteSystemTest", ComplaintStatus.IN_PROGRESS,
+                new Date(), citizens.get(0));
+            Long complaintId = new ComplaintRepository().create(scratch).join().getComplaint_id();
+            
+            final int threads = 16;
+            final int perThread = 250;
+            ResponseRepository responses = new ResponseRepository();
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            try {
+                long start = System.currentTimeMillis();
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    // Two authorities answering the same complaint at once
+                    Long authorityId = authorities.get(t % authorities.size()).getAuthority_id();
+                    results.add(workers.submit(() -> {
+                        int failures = 0;
+                        for (int i = 0; i < perThread; i++) {
+                            try {
+                                responses.submit(complaintId, authorityId, "stress " + i,
+                                                 ComplaintStatus.IN_PROGRESS).join();
+                            } catch (Exception e) {
+                                failures++;
+                                System.out.println("   Insert failed: " + e.getMessage());
+                            }
+                        }
+                        return failures;
+                    }));
+                }
+                int failures = 0;
+                for (Future<Integer> result : results) {
+                    failures += result.get();
+                }
+                long elapsed = System.currentTimeMillis() - start;
+                
+                long stored = em.createQuery(
+                    "SELECT COUNT(r) FROM Response r WHERE r.id.complaint_id = :id", Long.class)
+                    .setParameter("id", complaintId).getSingleResult();
+                long distinctIds = em.createQuery(
+                    "SELECT COUNT(DISTINCT r.id.response_id) FROM Response r WHERE r.id.complaint_id = :id", Long.class)
+                    .setParameter("id", complaintId).getSingleResult();
+                System.out.println("   " + stored + " responses from " + threads + " threads in " + elapsed
+                    + "ms, " + failures + " failures, " + distinctIds + " distinct ids");
+                
+                return failures == 0 && stored == (long) threads * perThread && distinctIds == stored;
+            } finally {
+                workers.shutdown();
+                em.getTransaction().begin();
+                em.createQuery("DELETE FROM Response r WHERE r.id.complaint_id = :id")
+                    .setParameter("id", complaintId).executeUpdate();
+                em.createQuery("DELETE FROM Complaint c WHERE c.complaint_id = :id")
+                    .setParameter("id", complaintId).executeUpdate();
+                em.getTransaction().commit();
+                new StatusCounterRepository().rebuild().join();
+            }
+        });
+    }
+    
+    private static void testConflictingTransitions() {
+        runTest("Conflicting Status Transitions", () -> {
+            List<Citizen> citizens = em.createQuery("SELECT c FROM Citizen c", Citizen.class)
+                .setMaxResults(1).getResultList();
+            List<Department> departments = em.createQuery("SELECT d FROM Department d", Department.class)
+                .setMaxResults(1).getResultList();
+            if (citizens.isEmpty() || departments.isEmpty()) {
+                System.out.println("   ⚠ Need at least one citizen and department. Database may need population.");
+                return true;
+            }
+            
+            ComplaintRepository complaints = new ComplaintRepository();
+            Complaint scratch = new Complaint("Other", departments.get(0), "Transition conflict test",
+                "Created by CompleteSystemTest", ComplaintStatus.UNREAD, new Date(), citizens.get(0));
+            Long complaintId = complaints.create(scratch).join().getComplaint_id();
+            try {
+                // Two authorities acting on the same UNREAD complaint at once
+                var close = complaints.transition(complaintId, ComplaintStatus.UNREAD, ComplaintStatus.CLOSED);
+                var start = complaints.transition(complaintId, ComplaintStatus.UNREAD, ComplaintStatus.IN_PROGRESS);
+                StatusTransition closed = close.join();
+                StatusTransition started = start.join();
+                System.out.println("   Close: " + closed.outcome() + ", start: " + started.outcome()
+                    + ", final status: " + (closed.applied() ? closed.status() : started.status()));
+                
+                // Exactly one wins; the loser sees the winner's status
+                boolean oneWinner = closed.applied() != started.applied();
+                StatusTransition loser = closed.applied() ? started : closed;
+                StatusTransition winner = closed.applied() ? closed : started;
+                return oneWinner
+                    && loser.outcome() == StatusTransition.Outcome.CONFLICT
+                    && loser.status() == winner.status();
+            } finally {
+                em.getTransaction().begin();
+                em.createQuery("DELETE FROM Complaint c WHERE c.complaint_id = :id")
+                    .setParameter("id", complaintId).executeUpdate();
+                em.getTransaction().commit();
+                new StatusCounterRepository().rebuild().join();
+            }
+        });
+    }
+    
+    private static void testStatusCounters() {
+        runTest("Status Counters Match Complaints Under Concurrent First Inserts", () -> {
+            List<Department> departments = em.createQuery("SELECT d FROM Department d", Department.class)
+                .setMaxResults(1).getResultList();
+            if (departments.isEmpty()) {
+                System.out.println("   ⚠ Need at least one department. Database may need population.");
+                return true;
+            }
+            
+            // A fresh citizen has no counter rows, so every insert below races to create the same one
+            String username = "counter_" + System.currentTimeMillis();
+            Citizen citizen = new Citizen(username, "counter-password", "Counter Citizen", "Test City", "12345",
+                "5550000000", username + "@test.com");
+            em.getTransaction().begin();
+            em.persist(citizen);
+            em.getTransaction().commit();
+            ComplaintRepository complaints = new ComplaintRepository();
+            int inserts = 8;
+            try {
+                List<CompletableFuture<Complaint>> created = new ArrayList<>();
+                for (int i = 0; i < inserts; i++) {
+                    created.add(complaints.create(new Complaint("Other", departments.get(0), "Counter test " + i,
+                        "Created by CompleteSystemTest", ComplaintStatus.UNREAD, new Date(), citizen)));
+                }
+                created.forEach(CompletableFuture::join);
+                
+                long citizenUnread = complaints.countStatusesByCitizen(citizen.getCitizen_id()).join()
+                    .get(ComplaintStatus.UNREAD);
+                EnumMap<ComplaintStatus, Long> system = complaints.countStatuses().join();
+                EnumMap<ComplaintStatus, Long> actual = new EnumMap<>(ComplaintStatus.class);
+                for (ComplaintStatus status : ComplaintStatus.values()) {
+                    actual.put(status, 0L);
+                }
+                em.createQuery("SELECT c.resolve_status, COUNT(c) FROM Complaint c GROUP BY c.resolve_status",
+                        Object[].class)
+                    .getResultList()
+                    .forEach(row -> actual.put((ComplaintStatus) row[0], (Long) row[1]));
+                System.out.println("   Citizen UNREAD counter: " + citizenUnread + " of " + inserts);
+                System.out.println("   System counts: " + system + ", complaints: " + actual);
+                
+                return citizenUnread == inserts && system.equals(actual);
+            } finally {
+                em.getTransaction().begin();
+                em.createQuery("DELETE FROM Complaint c WHERE c.citizen.citizen_id = :id")
+                    .setParameter("id", citizen.getCitizen_id()).executeUpdate();
+                em.createQuery("DELETE FROM Citizen c WHERE c.citizen_id = :id")
+                    .setParameter("id", citizen.getCitizen_id()).executeUpdate();
+                em.getTransaction().commit();
+                new StatusCounterRepository().rebuild().join();
+            }
+        });
+    }
+    
+    private static void testDashboardIndexes() {
+        runTest("Dashboard Indexes Exist", () -> {
+            List<String> problems = new SchemaVerifier().findIndexProblems().join();
+            problems.forEach(problem -> System.out.println("   ⚠ " + problem));
+            if (problems.isEmpty()) {
+                System.out.println("   ✓ All declared indexes present");
+            }
+            return problems.isEmpty();
+        });
+    }
+    
+    private static void testComplaintSearch() {
+        runTest("Full-Text Complaint Search", () -> {
+            List<Complaint> complaints = em.createQuery("SELECT c FROM Complaint c ORDER BY c.complaint_id DESC", Complaint.class)
+                .setMaxResults(1)
+                .getResultList();
+            if (complaints.isEmpty()) {
+                System.out.println("   ⚠ No complaints to search");
+                return true;
+            }
+            Complaint target = complaints.get(0);
+            
+            ComplaintSearchIndex index = new ComplaintSearchIndex(new ComplaintRepository(), 0);
+            int indexed = index.rebuild().join();
+            long start = System.nanoTime();
+            List<SearchHit> hits = index.search(target.getDepartment().getDept_id(), target.getComplaint_title(), 10);
+            long micros = (System.nanoTime() - start) / 1000;
+            
+            System.out.println("   Indexed complaints: " + indexed);
+            System.out.println("   Hits for \"" + target.getComplaint_title() + "\": " + hits.size() + " in " + micros + " µs");
+            boolean found = hits.stream().anyMatch(hit -> hit.complaintId() == target.getComplaint_id());
+            boolean scoped = index.search(-1L, target.getComplaint_title(), 10).isEmpty();
+            return found && scoped;
+        });
+    }
+    
+    private static void testDuplicateDetection() {
+        runTest("Near-Duplicate Complaint Detection", () -> {
+            List<Complaint> complaints = em.createQuery(
+                    "SELECT c FROM Complaint c JOIN FETCH c.citizen WHERE c.resolve_status <> :closed " +
+                    "AND c.duplicate_of IS NULL ORDER BY c.complaint_id DESC", Complaint.class)
+                .setParameter("closed", ComplaintStatus.CLOSED)
+                .setMaxResults(1)
+                .getResultList();
+            if (complaints.isEmpty()) {
+                System.out.println("   ⚠ No open complaints to compare");
+                return true;
+            }
+            Complaint target = complaints.get(0);
+            
+            DuplicateComplaintDetector detector = new DuplicateComplaintDetector(new ComplaintRepository(), 36500, 0.5f);
+            int considered = detector.rebuild().join();
+            long start = System.nanoTime();
+            List<DuplicateCandidate> duplicates = detector.findDuplicates(target.getDepartment().getDept_id(),
+                target.getCitizen().getCitizen_pincode(), target.getComplaint_title(), target.getComplaint_descp(), 5);
+            long micros = (System.nanoTime() - start) / 1000;
+            
+            System.out.println("   Open complaints considered: " + considered);
+            System.out.println("   Candidates for #" + target.getComplaint_id() + ": " + duplicates.size() + " in " + micros + " µs");
+            boolean found = duplicates.stream().anyMatch(d -> d.complaintId() == target.getComplaint_id());
+            detector.remove(target.getComplaint_id());
+            boolean removed = detector.findDuplicates(target.getDepartment().getDept_id(),
+                    target.getCitizen().getCitizen_pincode(), target.getComplaint_title(), target.getComplaint_descp(), 5)
+                .stream().noneMatch(d -> d.complaintId() == target.getComplaint_id());
+            return found && removed;
+        });
+    }
+    
+    private static void testAccountLookup() {
+        runTest("Unified Account Lookup And Login Cache", () -> {
+            List<Citizen> citizens = em.createQuery("SELECT c FROM Citizen c ORDER BY c.citizen_id", Citizen.class)
+                .setMaxResults(1)
+                .getResultList();
+            List<Authority> authorities = em.createQuery("SELECT a FROM Authority a ORDER BY a.authority_id", Authority.class)
+                .setMaxResults(1)
+                .getResultList();
+            if (citizens.isEmpty() || authorities.isEmpty()) {
+                System.out.println("   ⚠ Need a citizen and an authority to log in");
+                return true;
+            }
+            Citizen citizen = citizens.get(0);
+            Authority authority = authorities.get(0);
+            
+            AccountLookupService lookup = new AccountLookupService(new AccountRepository(), 100, 60,
+                new LoginThrottle(10, 60, 100, 100, 64), new UsernameFilter(new AccountRepository(), 1000, 0.01, 0, 0));
+            Optional<AccountPrincipal> asCitizen = lookup.authenticate(citizen.getCitizen_username(),
+                citizen.getCitizen_password()).join();
+            Optional<AccountPrincipal> asAuthority = lookup.authenticate(authority.getAuthority_username(),
+                authority.getAuthority_password()).join();
+            Optional<AccountPrincipal> wrong = lookup.authenticate(authority.getAuthority_username(),
+                authority.getAuthority_password() + "x").join();
+            
+            // Shift change: the same accounts log in again
+            long start = System.nanoTime();
+            Optional<AccountPrincipal> again = lookup.authenticate(authority.getAuthority_username(),
+                authority.getAuthority_password()).join();
+            long micros = (System.nanoTime() - start) / 1000;
+            
+            System.out.println("   Citizen: " + asCitizen.map(AccountPrincipal::role).orElse(null)
+                + ", authority: " + asAuthority.map(AccountPrincipal::role).orElse(null));
+            System.out.println("   Cached re-login in " + micros + " µs (hits=" + lookup.cacheHits()
+                + ", misses=" + lookup.cacheMisses() + ")");
+            return asCitizen.filter(p -> p.role() == AccountPrincipal.Role.CITIZEN
+                    && p.accountId().equals(citizen.getCitizen_id())).isPresent()
+                && asAuthority.filter(p -> p.role() == AccountPrincipal.Role.AUTHORITY
+                    && p.accountId().equals(authority.getAuthority_id())).isPresent()
+                && wrong.isEmpty()
+                && again.equals(asAuthority)
+                && lookup.cacheHits() == 1;
+        });
+    }
+    
+    private static void testLoginThrottle() {
+        runTest("Login Throttle Refuses Bursts Without Queries", () -> {
+            Statistics statistics = DatabaseConfig.getStatistics();
+            statistics.setStatisticsEnabled(true);
+            try {
+                statistics.clear();
+                LoginThrottle throttle = new LoginThrottle(3, 1, 5, 1, 64);
+                AccountLookupService lookup = new AccountLookupService(new AccountRepository(), 100, 60, throttle,
+                    new UsernameFilter(new AccountRepository(), 1000, 0.01, 0, 0));
+                int refused = 0;
+                // A script guessing one username, then another
+                for (int i = 0; i < 10; i++) {
+                    String username = i < 5 ? "\u0000throttle-test-a" : "\u0000throttle-test-b";
+                    try {
+                        lookup.authenticate(username, "guess-" + i).join();
+                    } catch (CompletionException e) {
+                        if (!(e.getCause() instanceof LoginThrottledException)) {
+                            throw e;
+                        }
+                        refused++;
+                    }
+                }
+                long statements = statistics.getPrepareStatementCount();
+                LoginThrottle.Metrics metrics = throttle.metrics();
+                System.out.println("   " + metrics);
+                System.out.println("   Statements for 10 attempts: " + statements);
+                // 3 per username, and the global burst of 5 stops the second username after 2
+                return refused == 5 && statements == 5
+                    && metrics.rejectedByUsername() == 2 && metrics.rejectedGlobally() == 3;
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+        });
+    }
+    
+    private static void testUsernameFilter() {
+        runTest("Username Filter Answers Misses Without Queries", () -> {
+            List<String> usernames = em.createQuery("SELECT c.citizen_username FROM Citizen c", String.class)
+                .setMaxResults(50)
+                .getResultList();
+            UsernameFilter filter = new UsernameFilter(new AccountRepository(), 1000, 0.01, 0, 0);
+            long loaded = filter.rebuild().join();
+            AccountLookupService lookup = new AccountLookupService(new AccountRepository(), 0, 0,
+                new LoginThrottle(1000, 1000, 1000, 1000, 64), filter);
+            
+            // No false negatives for existing accounts
+            boolean allKnown = usernames.stream().allMatch(filter::mightExist);
+            
+            Statistics statistics = DatabaseConfig.getStatistics();
+            statistics.setStatisticsEnabled(true);
+            try {
+                statistics.clear();
+                int missing = 0;
+                for (int i = 0; i < 200; i++) {
+                    if (!lookup.usernameExists("\u0000no-such-user-" + i).join()) {
+                        missing++;
+                    }
+                }
+                long statements = statistics.getPrepareStatementCount();
+                UsernameFilter.Metrics metrics = filter.metrics();
+                System.out.println("   Usernames loaded: " + loaded);
+                System.out.println("   " + metrics);
+                System.out.println("   Observed false-positive rate: "
+                    + String.format("%.4f", metrics.observedFalsePositiveRate()));
+                System.out.println("   Statements for 200 unknown usernames: " + statements);
+                // Only the filter's rare false positives reach the database
+                return allKnown && missing == 200 && statements == metrics.falsePositives() && statements <= 10;
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+        });
+    }
+    
+    private static void testSessionContext() {
+        runTest("Session Context Serves Screens Without Queries", () -> {
+            List<Authority> authorities = em.createQuery("SELECT a FROM Authority a ORDER BY a.authority_id", Authority.class)
+                .setMaxResults(1)
+                .getResultList();
+            if (authorities.isEmpty()) {
+                System.out.println("   ⚠ No authority users found. Database may need population.");
+                return true;
+            }
+            Authority sample = authorities.get(0);
+            SessionContext session = new SessionContext(new AccountRepository());
+            session.signIn(new AccountPrincipal(AccountPrincipal.Role.AUTHORITY, sample.getAuthority_id(),
+                sample.getAuthority_username(), sample.getAuthority_designation())).join();
+            
+            Statistics statistics = DatabaseConfig.getStatistics();
+            statistics.setStatisticsEnabled(true);
+            try {
+                statistics.clear();
+                // Dashboard -> respond -> dashboard, as the screens look the authority up
+                boolean found = true;
+                for (int i = 0; i < 3; i++) {
+                    found &= session.authority(sample.getAuthority_id())
+                        .map(a -> a.getDepartment().getDept_name() != null)
+                        .orElse(false);
+                }
+                long statements = statistics.getPrepareStatementCount();
+                UserSession current = session.current().orElseThrow();
+                System.out.println("   Department: " + current.departmentId() + ", permissions: " + current.permissions());
+                System.out.println("   Statements for 3 screen transitions: " + statements);
+                
+                boolean permitted = current.has(Permission.RESPOND_TO_COMPLAINT) && !current.has(Permission.FILE_COMPLAINT);
+                session.signOut();
+                boolean signedOut = session.current().isEmpty() && session.authority(sample.getAuthority_id()).isEmpty();
+                return found && statements == 0 && permitted && signedOut;
+            } finally {
+                statistics.setStatisticsEnabled(false);
+            }
+        });
+    }
+    
+    private static void testUnitsOfWork() {
+        runTest("Units Of Work Close Deterministically And Report Leaks", () -> {
+            UnitOfWork.Metrics before = UnitOfWork.metrics();
+            // An authority refreshing a screen many times
+            ComplaintRepository complaints = new ComplaintRepository();
+            for (int i = 0; i < 200; i++) {
+                complaints.countStatuses().join();
+            }
+            UnitOfWork.Metrics after = UnitOfWork.metrics();
+            
+            // A unit dropped without close() is found and closed by the cleaner
+            UnitOfWork.open(DatabaseConfig.getEntityManagerFactory(), "leak-test");
+            for (int i = 0; i < 50 && UnitOfWork.metrics().leaked() == after.leaked(); i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            UnitOfWork.Metrics leaked = UnitOfWork.metrics();
+            
+            System.out.println("   Before: " + before);
+            System.out.println("   After 200 refreshes: " + after);
+            System.out.println("   After a dropped unit: " + leaked);
+            return after.opened() - before.opened() >= 200
+                && after.open() == before.open()
+                && leaked.leaked() == after.leaked() + 1
+                && UnitOfWork.openUnits().stream().noneMatch(unit -> unit.purpose().equals("leak-test"));
+        });
+    }
+    
+    private static void testCsvExportRows() {
+        runTest("CSV Export Rows Match The Header", () -> {
+            List<Citizen> citizens = em.createQuery("SELECT c FROM Citizen c", Citizen.class)
+                .setMaxResults(1).getResultList();
+            List<Authority> authorities = em.createQuery("SELECT a FROM Authority a", Authority.class)
+                .setMaxResults(1).getResultList();
+            if (citizens.isEmpty() || authorities.isEmpty()) {
+                System.out.println("   ⚠ Need at least one citizen and authority. Database may need population.");
+                return true;
+            }
+            Authority authority = authorities.get(0);
+            
+            // Dated far ahead so the export only picks up these two
+            Date when = new Date(System.currentTimeMillis() + 100L * 365 * 24 * 3600 * 1000);
+            ComplaintRepository complaints = new ComplaintRepository();
+            Long unanswered = complaints.create(new Complaint("Other", authority.getDepartment(),
+                "Export test, unanswered", "Created by CompleteSystemTest, with, commas", ComplaintStatus.UNREAD,
+                when, citizens.get(0))).join().getComplaint_id();
+            Long answered = complaints.create(new Complaint("Other", authority.getDepartment(),
+                "Export test, answered", "Created by CompleteSystemTest", ComplaintStatus.UNREAD,
+                when, citizens.get(0))).join().getComplaint_id();
+            Path file = Files.createTempFile("complaint-export", ".csv");
+            try {
+                new ResponseRepository().submit(answered, authority.getAuthority_id(),
+                    "Multi-line \"quoted\"\nresponse", ComplaintStatus.IN_PROGRESS).join();
+                new ComplaintExporter().export(new ExportFilter(authority.getDepartment().getDept_id(),
+                    new Date(when.getTime() - 60_000), null, null), file);
+                
+                List<Integer> widths = csvRecordWidths(Files.readString(file));
+                System.out.println("   Record widths (header first): " + widths);
+                // Header plus one line per complaint: the unanswered one and the single response
+                return widths.size() == 3 && widths.stream().allMatch(width -> width.equals(widths.get(0)));
+            } finally {
+                Files.deleteIfExists(file);
+                em.getTransaction().begin();
+                em.createQuery("DELETE FROM Response r WHERE r.id.complaint_id IN (:ids)")
+                    .setParameter("ids", List.of(unanswered, answered)).executeUpdate();
+                em.createQuery("DELETE FROM Complaint c WHERE c.complaint_id IN (:ids)")
+                    .setParameter("ids", List.of(unanswered, answered)).executeUpdate();
+                em.getTransaction().commit();
+                new StatusCounterRepository().rebuild().join();
+            }
+        });
+    }
+    
+    /**
+     * Number of fields in each RFC 4180 record of the text
+     */
+    private static List<Integer> csvRecordWidths(String csv) {
+        List<Integer> widths = new ArrayList<>();
+        int fields = 1;
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ',') {
+                fields++;
+            } else if (!quoted && c == '\n') {
+                widths.add(fields);
+                fields = 1;
+            }
+        }
+        return widths;
+    }
+    
+    private static void testUsernameFilterLateAccounts() {
+        runTest("Username Filter Refresh Picks Up Accounts Created Elsewhere", () -> {
+            UsernameFilter filter = new UsernameFilter(new AccountRepository(), 1000, 0.01, 0, 0);
+            filter.rebuild().join();
+            AccountLookupService lookup = new AccountLookupService(new AccountRepository(), 100, 60,
+                new LoginThrottle(1000, 1000, 1000, 1000, 64), filter);
+            
+            // Inserted behind the filter's back, as database_population.sql or another instance would
+            String username = "late_" + System.currentTimeMillis();
+            Citizen late = new Citizen(username, "late-password", "Late Citizen", "Test City", "12345",
+                "5550000000", username + "@test.com");
+            em.getTransaction().begin();
+            em.persist(late);
+            em.getTransaction().commit();
+            try {
+                boolean unknownBefore = !filter.mightExist(username);
+                long read = filter.refresh().join();
+                Optional<AccountPrincipal> account = lookup.authenticate(username, "late-password").join();
+                // A second refresh starts above the ids already read
+                long reread = filter.refresh().join();
+                System.out.println("   Unknown before refresh: " + unknownBefore + ", refresh read " + read
+                    + " then " + reread + ", login: " + account.map(AccountPrincipal::role).orElse(null));
+                System.out.println("   " + filter.metrics());
+                return unknownBefore && read >= 1 && reread == 0 && account.isPresent();
+            } finally {
+                em.getTransaction().begin();
+                em.remove(late);
+                em.getTransaction().commit();
+            }
+        });
+    }
+    
     private static void runTest(String testName, TestFunction test) {
         testsRun++;
         System.out.println("\n[TEST " + testsRun + "] " + testName);
@@ -291,6 +950,7 @@ public class CompleteSystemTest {
         if (em != null && em.isOpen()) {
             em.close();
         }
+        RepositoryExecutor.shutdown();
         DatabaseConnection.close();
         System.out.println("✓ Database connection closed");
     }
@@ -9,11 +9,19 @@ public class DropTables {
         String password = "kavinkishore";
         
         String[] dropStatements = {
+            "DROP TABLE Schema_Version CASCADE CONSTRAINTS",
+            "DROP TABLE Complaint_Status_Counter CASCADE CONSTRAINTS",
+            "DROP TABLE Complaint_Type_Route CASCADE CONSTRAINTS",
             "DROP TABLE Response CASCADE CONSTRAINTS",
             "DROP TABLE Complaint CASCADE CONSTRAINTS",
             "DROP TABLE Authority CASCADE CONSTRAINTS",
             "DROP TABLE Citizen CASCADE CONSTRAINTS",
-            "DROP TABLE Department CASCADE CONSTRAINTS"
+            "DROP TABLE Department CASCADE CONSTRAINTS",
+            "DROP SEQUENCE Response_SEQ",
+            "DROP SEQUENCE Complaint_SEQ",
+            "DROP SEQUENCE Authority_SEQ",
+            "DROP SEQUENCE Citizen_SEQ",
+            "DROP SEQUENCE Department_SEQ"
         };
         
         try (Connection conn = DriverManager.getConnection(url, username, password);
@@ -33,7 +41,7 @@ public class DropTables {
             }
             
             System.out.println("\n✓ All tables dropped successfully!");
-            System.out.println("You can now run DatabaseTest to create fresh tables with the new 3NF schema.");
+            System.out.println("You can now run SchemaMigrationTool migrate to create fresh tables.");
             
         } catch (SQLException e) {
             System.err.println("Database connection failed:");
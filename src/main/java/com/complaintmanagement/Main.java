@@ -1,5 +1,9 @@
 package com.complaintmanagement;
 
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.repository.UnitOfWork;
+import com.complaintmanagement.service.PersistenceBootstrap;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -12,6 +16,12 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
     
+    @Override
+    public void init() {
+        // Bootstrap Hibernate, fill the pool and run the warm-up queries while the login screen renders
+        PersistenceBootstrap.shared().start();
+    }
+    
     @Override
     public void start(Stage primaryStage) {
         try {
@@ -36,6 +46,16 @@ public class Main extends Application {
         }
     }
     
+    @Override
+    public void stop() {
+        // Let in-flight queries finish, then close the shared EntityManagerFactory and drain the pool
+        RepositoryExecutor.shutdown();
+        UnitOfWork.logOpenUnits();
+        DatabaseConfig.logCacheStatistics();
+        DatabaseConnection.close();
+        System.out.println("Complaint Management System stopped");
+    }
+    
     public static void main(String[] args) {
         launch(args);
     }
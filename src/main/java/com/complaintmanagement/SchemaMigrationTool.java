@@ -0,0 +1,81 @@
+package com.complaintmanagement;
+
+import com.complaintmanagement.migration.Migration;
+import com.complaintmanagement.migration.MigrationRunner;
+import com.complaintmanagement.migration.SchemaStatus;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.repository.SchemaVerifier;
+
+import java.util.List;
+
+/**
+ * Admin command for the versioned schema migrations in db/migration.
+ * The application itself never changes the schema; it only validates it at startup.
+ *
+ * Usage (mvn exec:java@migrate runs "migrate", mvn exec:java@schema-info runs "info"):
+ *   info              list applied and pending migrations (default)
+ *   validate          check checksums and the declared indexes
+ *   migrate           apply pending migrations
+ *   baseline [n]      mark V1..n as applied on a database built before migrations; the default is
+ *                     the last version sql_scripts reproduces, so a following migrate adds the rest
+ */
+public class SchemaMigrationTool {
+    public static void main(String[] args) {
+        String command = args.length > 0 ? args[0] : "info";
+        if (!DatabaseConnection.testConnection()) {
+            System.err.println("DB connection failed. Exiting schema migration.");
+            return;
+        }
+        try {
+            MigrationRunner runner = new MigrationRunner();
+            switch (command) {
+                case "info" -> printStatus(runner.validate());
+                case "validate" -> {
+                    SchemaStatus status = runner.validate();
+                    printStatus(status);
+                    List<String> indexProblems = new SchemaVerifier().findIndexProblems().join();
+                    indexProblems.forEach(problem -> System.out.println("⚠ Index: " + problem));
+                    System.out.println(status.isCurrent() && indexProblems.isEmpty()
+                        ? "✓ Schema is valid" : "❌ Schema is not valid");
+                }
+                case "migrate" -> {
+                    List<Migration> applied = runner.migrate();
+                    System.out.println(applied.isEmpty()
+                        ? "✓ Schema already up to date" : "✓ Applied " + applied.size() + " migration(s)");
+                    printStatus(runner.validate());
+                }
+                case "baseline" -> {
+                    int version = args.length > 1
+                        ? Integer.parseInt(args[1])
+                        : MigrationRunner.SCRIPTS_VERSION;
+                    int recorded = runner.baseline(version);
+                    System.out.println("✓ Baselined " + recorded + " migration(s) up to V" + version);
+                    printStatus(runner.validate());
+                }
+                default -> System.err.println("Unknown command '" + command + "'. Use info, validate, migrate or baseline [version].");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Schema " + command + " failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            RepositoryExecutor.shutdown();
+            DatabaseConnection.close();
+        }
+    }
+    
+    private static void printStatus(SchemaStatus status) {
+        System.out.println("\n=== SCHEMA VERSION ===");
+        if (status.managed()) {
+            System.out.println("Current version: V" + status.currentVersion());
+            for (SchemaStatus.AppliedMigration applied : status.applied()) {
+                System.out.println("  V" + applied.version() + " " + applied.description()
+                    + (applied.baseline() ? " (baseline)" : "") + " - " + applied.installedOn());
+            }
+        }
+        for (Migration pending : status.pending()) {
+            System.out.println("  V" + pending.version() + " " + pending.description() + " - pending");
+        }
+        status.problems().forEach(problem -> System.out.println("⚠ " + problem));
+        System.out.println("======================\n");
+    }
+}
@@ -0,0 +1,37 @@
+package com.complaintmanagement;
+
+import com.complaintmanagement.model.ComplaintStatus;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.repository.StatusCounterRepository;
+
+import java.util.EnumMap;
+
+/**
+ * Rebuilds the Complaint_Status_Counter table from the Complaint table.
+ * Run it after bulk changes made outside the application, or whenever the
+ * dashboard statistics look out of step with the complaint list.
+ */
+public class StatusCounterReconciler {
+    public static void main(String[] args) {
+        if (!DatabaseConnection.testConnection()) {
+            System.err.println("DB connection failed. Exiting reconciliation.");
+            return;
+        }
+        try {
+            System.out.println("Rebuilding complaint status counters...");
+            new StatusCounterRepository().rebuild().join();
+            
+            EnumMap<ComplaintStatus, Long> counts = new ComplaintRepository().countStatuses().join();
+            System.out.println("\n=== SYSTEM-WIDE STATUS COUNTS ===");
+            counts.forEach((status, count) -> System.out.println(status + ": " + count));
+            System.out.println("✓ Status counters rebuilt\n");
+        } catch (Exception e) {
+            System.err.println("❌ Reconciliation failed: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            RepositoryExecutor.shutdown();
+            DatabaseConnection.close();
+        }
+    }
+}
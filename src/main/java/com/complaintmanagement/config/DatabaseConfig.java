@@ -2,34 +2,47 @@ package com.complaintmanagement.config;
 
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import java.io.IOException;
 import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
  * Simple database configuration class for managing database connections.
- * This class handles loading configuration from multiple sources and provides
- * a centralized way to manage the EntityManagerFactory.
+ * This class handles loading configuration from multiple sources and owns the
+ * single EntityManagerFactory (and its HikariCP connection pool) shared by the
+ * whole application. The factory is created once on first use and closed from
+ * Main.stop().
  */
 public class DatabaseConfig {
     
     private static final String PERSISTENCE_UNIT_NAME = "complaint-management-pu";
-    private static EntityManagerFactory entityManagerFactory;
+    private static volatile EntityManagerFactory entityManagerFactory;
     private static Properties databaseProperties;
+    private static Properties applicationProperties = new Properties();
+    private static boolean initializationAttempted;
+    private static boolean propertiesLoaded;
+    private static final Object PROPERTIES_LOCK = new Object();
     
     /**
-     * Initialize database configuration on class loading
+     * Initialize the database configuration.
+     * Safe to call more than once - the factory is only bootstrapped on the first call.
      */
-    static {
-        initializeDatabaseConfig();
-    }
-    
-    /**
-     * Initialize the database configuration
-     */
-    private static void initializeDatabaseConfig() {
+    public static synchronized void initialize() {
+        if (initializationAttempted) {
+            return;
+        }
+        initializationAttempted = true;
         try {
-            loadProperties();
+            loadPropertiesOnce();
             createEntityManagerFactory();
             logConfiguration();
         } catch (Exception e) {
@@ -40,6 +53,19 @@ public class DatabaseConfig {
         }
     }
     
+    /**
+     * Load the properties on first use. Separate from initialize() so that settings can be
+     * read on the FX thread without waiting for the factory to bootstrap.
+     */
+    private static void loadPropertiesOnce() {
+        synchronized (PROPERTIES_LOCK) {
+            if (!propertiesLoaded) {
+                loadProperties();
+                propertiesLoaded = true;
+            }
+        }
+    }
+    
     /**
      * Load database properties from application.properties and environment variables
      */
@@ -53,6 +79,7 @@ public class DatabaseConfig {
             if (input != null) {
                 Properties appProperties = new Properties();
                 appProperties.load(input);
+                applicationProperties = appProperties;
                 
                 // Map application.properties to persistence properties
                 mapApplicationProperties(appProperties);
@@ -77,8 +104,27 @@ public class DatabaseConfig {
             {"hibernate.hbm2ddl.auto", "hibernate.hbm2ddl.auto"},
             {"hibernate.show_sql", "hibernate.show_sql"},
             {"hibernate.format_sql", "hibernate.format_sql"},
-            {"hibernate.connection.pool_size", "hibernate.connection.pool_size"},
-            {"hibernate.connection.autocommit", "hibernate.connection.autocommit"}
+            {"hibernate.connection.autocommit", "hibernate.connection.autocommit"},
+            {"hibernate.connection.provider_class", "hibernate.connection.provider_class"},
+            {"hibernate.hikari.poolName", "hibernate.hikari.poolName"},
+            {"hibernate.hikari.maximumPoolSize", "hibernate.hikari.maximumPoolSize"},
+            {"hibernate.hikari.minimumIdle", "hibernate.hikari.minimumIdle"},
+            {"hibernate.hikari.connectionTimeout", "hibernate.hikari.connectionTimeout"},
+            {"hibernate.hikari.idleTimeout", "hibernate.hikari.idleTimeout"},
+            {"hibernate.hikari.maxLifetime", "hibernate.hikari.maxLifetime"},
+            {"hibernate.hikari.leakDetectionThreshold", "hibernate.hikari.leakDetectionThreshold"},
+            {"hibernate.jdbc.batch_size", "hibernate.jdbc.batch_size"},
+            {"hibernate.id.optimizer.pooled.preferred", "hibernate.id.optimizer.pooled.preferred"},
+            {"hibernate.order_inserts", "hibernate.order_inserts"},
+            {"hibernate.order_updates", "hibernate.order_updates"},
+            {"hibernate.default_batch_fetch_size", "hibernate.default_batch_fetch_size"},
+            {"hibernate.generate_statistics", "hibernate.generate_statistics"},
+            {"hibernate.cache.use_second_level_cache", "hibernate.cache.use_second_level_cache"},
+            {"hibernate.cache.region.factory_class", "hibernate.cache.region.factory_class"},
+            {"hibernate.javax.cache.provider", "hibernate.javax.cache.provider"},
+            {"hibernate.javax.cache.uri", "hibernate.javax.cache.uri"},
+            {"hibernate.javax.cache.missing_cache_strategy", "hibernate.javax.cache.missing_cache_strategy"},
+            {"jakarta.persistence.sharedCache.mode", "jakarta.persistence.sharedCache.mode"}
         };
         
         for (String[] mapping : mappings) {
@@ -130,7 +176,14 @@ public class DatabaseConfig {
             {"HIBERNATE_DDL_AUTO", "hibernate.hbm2ddl.auto"},
             {"HIBERNATE_SHOW_SQL", "hibernate.show_sql"},
             {"HIBERNATE_FORMAT_SQL", "hibernate.format_sql"},
-            {"DB_POOL_SIZE", "hibernate.connection.pool_size"}
+            {"DB_POOL_SIZE", "hibernate.hikari.maximumPoolSize"},
+            {"DB_POOL_MIN_IDLE", "hibernate.hikari.minimumIdle"},
+            {"DB_POOL_CONNECTION_TIMEOUT_MS", "hibernate.hikari.connectionTimeout"},
+            {"DB_POOL_LEAK_DETECTION_MS", "hibernate.hikari.leakDetectionThreshold"},
+            {"HIBERNATE_BATCH_FETCH_SIZE", "hibernate.default_batch_fetch_size"},
+            {"HIBERNATE_STATISTICS", "hibernate.generate_statistics"},
+            {"HIBERNATE_L2_CACHE", "hibernate.cache.use_second_level_cache"},
+            {"HIBERNATE_CACHE_CONFIG", "hibernate.javax.cache.uri"}
         };
         
         for (String[] mapping : envMappings) {
@@ -160,6 +213,12 @@ public class DatabaseConfig {
         System.out.println("Dialect: " + databaseProperties.getProperty("hibernate.dialect"));
         System.out.println("DDL Auto: " + databaseProperties.getProperty("hibernate.hbm2ddl.auto"));
         System.out.println("Show SQL: " + databaseProperties.getProperty("hibernate.show_sql"));
+        System.out.println("Pool: max=" + databaseProperties.getProperty("hibernate.hikari.maximumPoolSize")
+                + ", minIdle=" + databaseProperties.getProperty("hibernate.hikari.minimumIdle")
+                + ", timeout=" + databaseProperties.getProperty("hibernate.hikari.connectionTimeout") + "ms"
+                + ", leakDetection=" + databaseProperties.getProperty("hibernate.hikari.leakDetectionThreshold") + "ms");
+        System.out.println("Second-Level Cache: " + databaseProperties.getProperty("hibernate.cache.use_second_level_cache")
+                + " (" + databaseProperties.getProperty("hibernate.javax.cache.uri") + ")");
         System.out.println("=============================");
     }
     
@@ -172,9 +231,12 @@ public class DatabaseConfig {
     }
     
     /**
-     * Get the EntityManagerFactory
+     * Get the shared EntityManagerFactory, bootstrapping it on first use
      */
     public static EntityManagerFactory getEntityManagerFactory() {
+        if (entityManagerFactory == null) {
+            initialize();
+        }
         if (entityManagerFactory == null) {
             System.err.println("Database not available - EntityManagerFactory not initialized");
             return null;
@@ -182,6 +244,74 @@ public class DatabaseConfig {
         return entityManagerFactory;
     }
     
+    /**
+     * Hibernate statistics of the shared factory, or null when the database is unavailable.
+     * Collection is off unless hibernate.generate_statistics is set; callers may switch it on.
+     */
+    public static Statistics getStatistics() {
+        EntityManagerFactory emf = getEntityManagerFactory();
+        return emf == null ? null : emf.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    /**
+     * Print second-level and natural-id cache hit/miss counts, per region and in total
+     */
+    public static void logCacheStatistics() {
+        Statistics statistics = entityManagerFactory == null ? null : getStatistics();
+        if (statistics == null || !statistics.isStatisticsEnabled()) {
+            System.out.println("Cache statistics not collected (set HIBERNATE_STATISTICS=true)");
+            return;
+        }
+        System.out.println("=== Second-Level Cache ===");
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            System.out.println(region + ": hits=" + regionStatistics.getHitCount()
+                    + ", misses=" + regionStatistics.getMissCount()
+                    + ", puts=" + regionStatistics.getPutCount()
+                    + ", entries=" + regionStatistics.getElementCountInMemory());
+        }
+        System.out.println("Entities: hits=" + statistics.getSecondLevelCacheHitCount()
+                + ", misses=" + statistics.getSecondLevelCacheMissCount());
+        System.out.println("Natural ids: hits=" + statistics.getNaturalIdCacheHitCount()
+                + ", misses=" + statistics.getNaturalIdCacheMissCount());
+        System.out.println("==========================");
+    }
+    
+    /**
+     * Borrow connections up to the pool's minimum idle size and hand them straight back,
+     * so requests right after startup find established connections instead of waiting on the database.
+     * Returns the number of connections opened.
+     */
+    public static int warmConnectionPool() {
+        EntityManagerFactory emf = getEntityManagerFactory();
+        if (emf == null) {
+            return 0;
+        }
+        int target = Integer.parseInt(databaseProperties.getProperty("hibernate.hikari.minimumIdle", "2"));
+        ConnectionProvider provider = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        List<Connection> borrowed = new ArrayList<>(target);
+        try {
+            while (borrowed.size() < target) {
+                borrowed.add(provider.getConnection());
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not open pooled connection: " + e.getMessage());
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    provider.closeConnection(connection);
+                } catch (SQLException e) {
+                    System.err.println("Could not return pooled connection: " + e.getMessage());
+                }
+            }
+        }
+        return borrowed.size();
+    }
+    
     /**
      * Test database connectivity
      */
@@ -194,13 +324,13 @@ public class DatabaseConfig {
             }
             
             var em = emf.createEntityManager();
-            em.getTransaction().begin();
-            
-            // Simple connection test query
-            em.createNativeQuery("SELECT 1 FROM DUAL").getSingleResult();
-            
-            em.getTransaction().commit();
-            em.close();
+            try {
+                // Simple connection test query
+                em.createNativeQuery("SELECT 1 FROM DUAL").getSingleResult();
+            } finally {
+                // Closed on failure too, so a failed test does not keep a pooled connection
+                em.close();
+            }
             
             System.out.println("✅ Database connection test successful");
             return true;
@@ -211,13 +341,23 @@ public class DatabaseConfig {
     }
     
     /**
-     * Close the EntityManagerFactory
+     * Close the EntityManagerFactory and release every pooled connection
      */
-    public static void close() {
+    public static synchronized void close() {
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             entityManagerFactory.close();
             System.out.println("Database configuration closed");
         }
+        entityManagerFactory = null;
+    }
+    
+    /**
+     * Read an application setting from application.properties, resolving ${ENV:default} placeholders
+     */
+    public static String getSetting(String key, String defaultValue) {
+        loadPropertiesOnce();
+        String value = resolveProperty(applicationProperties.getProperty(key));
+        return value != null ? value : defaultValue;
     }
     
     /**
@@ -1,26 +1,43 @@
 package com.complaintmanagement.controller;
 
+import com.complaintmanagement.exporter.ComplaintExporter;
+import com.complaintmanagement.exporter.ExportFilter;
+import com.complaintmanagement.exporter.ExportReport;
 import com.complaintmanagement.model.Authority;
-import com.complaintmanagement.model.Complaint;
 import com.complaintmanagement.model.ComplaintStatus;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
-import jakarta.persistence.TypedQuery;
+import com.complaintmanagement.model.Department;
+import com.complaintmanagement.repository.AccountRepository;
+import com.complaintmanagement.repository.ComplaintCursor;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.ComplaintSummary;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.service.ComplaintSearchIndex;
+import com.complaintmanagement.service.Permission;
+import com.complaintmanagement.service.SearchHit;
+import com.complaintmanagement.service.SessionContext;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the Authority Dashboard
@@ -57,6 +74,12 @@ public class AuthorityDashboardController {
     @FXML
     private Button btnRefresh;
 
+    @FXML
+    private Button btnExport;
+
+    @FXML
+    private TextField txtSearch;
+
     @FXML
     private TableView<ComplaintRow> tblComplaints;
 
@@ -86,7 +109,43 @@ public class AuthorityDashboardController {
     private String authorityUsername;
     private Authority currentAuthority;
 
-    private EntityManagerFactory emf;
+    private final AccountRepository accountRepository;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintExporter complaintExporter;
+    private final ComplaintSearchIndex searchIndex;
+    private final SessionContext session;
+    private final UiTaskScope tasks = new UiTaskScope();
+
+    // Keyset paging state for the complaint table
+    private static final int PAGE_SIZE = 50;
+    private static final int SEARCH_LIMIT = 100;
+    private final ObservableList<ComplaintRow> complaintRows = FXCollections.observableArrayList();
+    private ComplaintCursor nextPageCursor;
+    private boolean hasMorePages;
+    private boolean pageLoading;
+
+    /**
+     * Creates the controller backed by the application-wide EntityManagerFactory, search index and session
+     */
+    public AuthorityDashboardController() {
+        this(new AccountRepository(), new ComplaintRepository(), new ComplaintExporter(),
+            ComplaintSearchIndex.shared(), SessionContext.shared());
+    }
+
+    /**
+     * Creates the controller with injected repositories, exporter, search index and session
+     */
+    public AuthorityDashboardController(AccountRepository accountRepository,
+                                        ComplaintRepository complaintRepository,
+                                        ComplaintExporter complaintExporter,
+                                        ComplaintSearchIndex searchIndex,
+                                        SessionContext session) {
+        this.accountRepository = accountRepository;
+        this.complaintRepository = complaintRepository;
+        this.complaintExporter = complaintExporter;
+        this.session = session;
+        this.searchIndex = searchIndex;
+    }
 
     /**
      * Initialize the controller
@@ -95,11 +154,11 @@ public class AuthorityDashboardController {
     public void initialize() {
         System.out.println("AuthorityDashboardController initialized");
 
-        // Initialize EntityManagerFactory
-        emf = Persistence.createEntityManagerFactory("complaint-management-pu");
-
         // Setup table columns
         setupTableColumns();
+
+        // Fetch further pages as the user scrolls; the scroll bar exists once the skin is created
+        tblComplaints.skinProperty().addListener((observable, oldSkin, newSkin) -> attachScrollPaging());
     }
 
     /**
@@ -170,23 +229,29 @@ public class AuthorityDashboardController {
         this.authorityId = authorityId;
         this.authorityUsername = authorityUsername;
 
-        EntityManager em = emf.createEntityManager();
-        try {
-            // Load authority entity
-            currentAuthority = em.find(Authority.class, authorityId);
-
-            if (currentAuthority != null) {
-                lblWelcome.setText("Welcome, " + authorityUsername);
-                lblDepartment.setText(currentAuthority.getDepartment().getDept_name());
-
-                System.out.println("Authority initialized: " + authorityUsername + 
-                                 " - Department: " + currentAuthority.getDepartment().getDept_name());
-            }
-        } catch (Exception e) {
+        // The authority loaded at login; only load it when opened outside a session
+        Optional<Authority> signedIn = session.authority(authorityId);
+        if (signedIn.isPresent()) {
+            showAuthority(signedIn.get());
+            return;
+        }
+        tasks.run("authority", accountRepository.findAuthority(authorityId),
+            authority -> showAuthority(authority.orElse(null)), e -> {
             System.err.println("Error loading authority: " + e.getMessage());
             e.printStackTrace();
-        } finally {
-            em.close();
+        });
+    }
+
+    private void showAuthority(Authority authority) {
+        currentAuthority = authority;
+
+        if (currentAuthority != null) {
+            lblWelcome.setText("Welcome, " + authorityUsername);
+            lblDepartment.setText(currentAuthority.getDepartment().getDept_name());
+            btnExport.setDisable(!session.has(Permission.EXPORT_COMPLAINTS));
+
+            System.out.println("Authority initialized: " + authorityUsername + 
+                             " - Department: " + currentAuthority.getDepartment().getDept_name());
         }
 
         // Load dashboard data
@@ -206,120 +271,159 @@ public class AuthorityDashboardController {
      * Load complaint statistics for the department
      */
     private void loadComplaintStatistics() {
-        EntityManager em = emf.createEntityManager();
-        try {
-            if (currentAuthority == null) {
-                return;
-            }
+        if (currentAuthority == null) {
+            return;
+        }
 
-            Long deptId = currentAuthority.getDepartment().getDept_id();
+        Long deptId = currentAuthority.getDepartment().getDept_id();
 
-            // Total complaints assigned to department
-            TypedQuery<Long> totalQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.department.dept_id = :deptId",
-                Long.class);
-            totalQuery.setParameter("deptId", deptId);
-            Long total = totalQuery.getSingleResult();
+        // Total, unread, in progress and resolved complaints assigned to department
+        tasks.run("statistics", complaintRepository.countStatusesByDepartment(deptId), counts -> {
+            long total = counts.values().stream().mapToLong(Long::longValue).sum();
             lblTotalComplaints.setText(String.valueOf(total));
-
-            // Unread complaints
-            TypedQuery<Long> unreadQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.department.dept_id = :deptId " +
-                "AND c.resolve_status = :status",
-                Long.class);
-            unreadQuery.setParameter("deptId", deptId);
-            unreadQuery.setParameter("status", ComplaintStatus.UNREAD);
-            Long unread = unreadQuery.getSingleResult();
-            lblUnreadComplaints.setText(String.valueOf(unread));
-
-            // In Progress complaints
-            TypedQuery<Long> inProgressQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.department.dept_id = :deptId " +
-                "AND c.resolve_status = :status",
-                Long.class);
-            inProgressQuery.setParameter("deptId", deptId);
-            inProgressQuery.setParameter("status", ComplaintStatus.IN_PROGRESS);
-            Long inProgress = inProgressQuery.getSingleResult();
-            lblInProgressComplaints.setText(String.valueOf(inProgress));
-
-            // Resolved complaints
-            TypedQuery<Long> resolvedQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.department.dept_id = :deptId " +
-                "AND c.resolve_status = :status",
-                Long.class);
-            resolvedQuery.setParameter("deptId", deptId);
-            resolvedQuery.setParameter("status", ComplaintStatus.CLOSED);
-            Long resolved = resolvedQuery.getSingleResult();
-            lblResolvedComplaints.setText(String.valueOf(resolved));
-
-        } catch (Exception e) {
+            lblUnreadComplaints.setText(String.valueOf(counts.get(ComplaintStatus.UNREAD)));
+            lblInProgressComplaints.setText(String.valueOf(counts.get(ComplaintStatus.IN_PROGRESS)));
+            lblResolvedComplaints.setText(String.valueOf(counts.get(ComplaintStatus.CLOSED)));
+        }, e -> {
             System.err.println("Error loading complaint statistics: " + e.getMessage());
             e.printStackTrace();
             lblTotalComplaints.setText("0");
             lblUnreadComplaints.setText("0");
             lblInProgressComplaints.setText("0");
             lblResolvedComplaints.setText("0");
-        } finally {
-            em.close();
-        }
+        });
     }
 
     /**
-     * Load complaints assigned to this authority's department
+     * Load the first page of complaints assigned to this authority's department,
+     * or the search results when a search is entered
      */
     private void loadAssignedComplaints() {
-        EntityManager em = emf.createEntityManager();
-        try {
-            if (currentAuthority == null) {
-                return;
-            }
-
-            Long deptId = currentAuthority.getDepartment().getDept_id();
+        if (currentAuthority == null) {
+            return;
+        }
 
-            // Query all complaints for this department, ordered by status and date
-            TypedQuery<Complaint> query = em.createQuery(
-                "SELECT c FROM Complaint c WHERE c.department.dept_id = :deptId " +
-                "ORDER BY CASE c.resolve_status " +
-                "  WHEN com.complaintmanagement.model.ComplaintStatus.UNREAD THEN 1 " +
-                "  WHEN com.complaintmanagement.model.ComplaintStatus.READ THEN 2 " +
-                "  WHEN com.complaintmanagement.model.ComplaintStatus.IN_PROGRESS THEN 3 " +
-                "  WHEN com.complaintmanagement.model.ComplaintStatus.CLOSED THEN 4 " +
-                "END, c.complaint_date DESC",
-                Complaint.class);
-            query.setParameter("deptId", deptId);
+        // Start again from the top; a newer load supersedes any page still in flight
+        complaintRows.clear();
+        nextPageCursor = null;
+        hasMorePages = true;
+        pageLoading = false;
+        tblComplaints.setItems(complaintRows);
+
+        String query = txtSearch.getText().trim();
+        if (!query.isEmpty()) {
+            searchComplaints(query);
+            return;
+        }
+        loadNextPage();
+    }
 
-            List<Complaint> complaints = query.getResultList();
+    /**
+     * Show the department's complaints best matching the query, most relevant first.
+     * Ranking runs against the in-memory index; only the matching rows are read from the database.
+     */
+    private void searchComplaints(String query) {
+        hasMorePages = false;
+        if (!searchIndex.isBuilt()) {
+            lblTableInfo.setText("Search index is still loading - try again shortly");
+            return;
+        }
 
-            // Convert to table rows
-            ObservableList<ComplaintRow> rows = FXCollections.observableArrayList();
+        Long deptId = currentAuthority.getDepartment().getDept_id();
+        CompletableFuture<List<ComplaintSummary>> results = CompletableFuture
+            .supplyAsync(() -> searchIndex.search(deptId, query, SEARCH_LIMIT), RepositoryExecutor.get())
+            .thenCompose(hits -> complaintRepository.findSummaries(
+                hits.stream().map(SearchHit::complaintId).toList()));
 
+        tasks.run("assignedComplaints", results, complaints -> {
             SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy");
+            for (ComplaintSummary complaint : complaints) {
+                complaintRows.add(toRow(complaint, dateFormat));
+            }
+            lblTableInfo.setText(complaints.size() + " result" + (complaints.size() != 1 ? "s" : "") +
+                                 " for \"" + query + "\"");
+        }, e -> {
+            System.err.println("Error searching complaints: " + e.getMessage());
+            e.printStackTrace();
+            lblTableInfo.setText("Search failed");
+        });
+    }
 
-            for (Complaint complaint : complaints) {
-                String formattedDate = dateFormat.format(complaint.getComplaint_date());
+    /**
+     * Append the next page of complaints, ordered by status and date
+     */
+    private void loadNextPage() {
+        if (currentAuthority == null || !hasMorePages || pageLoading) {
+            return;
+        }
+        pageLoading = true;
 
-                ComplaintRow row = new ComplaintRow(
-                    String.valueOf(complaint.getComplaint_id()),
-                    complaint.getComplaint_title(),
-                    complaint.getComplaint_type(),
-                    complaint.getCitizen().getCitizen_name(),
-                    complaint.getResolve_status().getDisplayName(),
-                    formattedDate
-                );
-                rows.add(row);
+        Long deptId = currentAuthority.getDepartment().getDept_id();
+
+        tasks.run("assignedComplaints",
+            complaintRepository.findDepartmentPage(deptId, nextPageCursor, PAGE_SIZE), complaints -> {
+            pageLoading = false;
+
+            SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy");
+
+            // Convert to table rows
+            for (ComplaintSummary complaint : complaints) {
+                complaintRows.add(toRow(complaint, dateFormat));
             }
 
-            tblComplaints.setItems(rows);
+            if (!complaints.isEmpty()) {
+                nextPageCursor = ComplaintCursor.of(complaints.get(complaints.size() - 1));
+            }
+            hasMorePages = complaints.size() == PAGE_SIZE;
 
             // Update table info
-            lblTableInfo.setText("Showing " + rows.size() + " complaint" + (rows.size() != 1 ? "s" : ""));
-
-        } catch (Exception e) {
+            int shown = complaintRows.size();
+            lblTableInfo.setText("Showing " + shown + " complaint" + (shown != 1 ? "s" : "") +
+                                 (hasMorePages ? " - scroll for more" : ""));
+        }, e -> {
+            pageLoading = false;
             System.err.println("Error loading assigned complaints: " + e.getMessage());
             e.printStackTrace();
-            lblTableInfo.setText("Showing 0 complaints");
-        } finally {
-            em.close();
+            if (complaintRows.isEmpty()) {
+                lblTableInfo.setText("Showing 0 complaints");
+            }
+        });
+    }
+
+    /**
+     * Convert a complaint summary to a table row
+     */
+    private ComplaintRow toRow(ComplaintSummary complaint, SimpleDateFormat dateFormat) {
+        return new ComplaintRow(
+            String.valueOf(complaint.complaintId()),
+            complaint.title(),
+            complaint.type(),
+            complaint.citizenName(),
+            complaint.status().getDisplayName(),
+            dateFormat.format(complaint.complaintDate())
+        );
+    }
+
+    /**
+     * Handle Search button and Enter in the search box
+     */
+    @FXML
+    private void handleSearch(ActionEvent event) {
+        loadAssignedComplaints();
+    }
+
+    /**
+     * Load the next page when the table is scrolled close to the bottom
+     */
+    private void attachScrollPaging() {
+        for (Node node : tblComplaints.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= scrollBar.getMax() * 0.9) {
+                        loadNextPage();
+                    }
+                });
+            }
         }
     }
 
@@ -350,6 +454,8 @@ public class AuthorityDashboardController {
             Stage stage = (Stage) tblComplaints.getScene().getWindow();
             Scene scene = new Scene(root);
             scene.getStylesheets().add(getClass().getResource("/css/authority-respond.css").toExternalForm());
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Respond to Complaint");
             
@@ -367,25 +473,81 @@ public class AuthorityDashboardController {
     }
 
     /**
-     * Handle Refresh button
+     * Handle Refresh button; also re-reads the search index so complaints saved elsewhere become searchable
      */
     @FXML
     private void handleRefresh(ActionEvent event) {
         System.out.println("Refreshing dashboard data...");
+        searchIndex.rebuild();
         loadDashboardData();
     }
 
+    /**
+     * Handle Export button: stream the department's complaints and responses to a file
+     */
+    @FXML
+    private void handleExport(ActionEvent event) {
+        if (currentAuthority == null) {
+            return;
+        }
+        Department department = currentAuthority.getDepartment();
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Complaints");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV", "*.csv"),
+            new FileChooser.ExtensionFilter("CSV (gzip)", "*.csv.gz"),
+            new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl"),
+            new FileChooser.ExtensionFilter("JSON Lines (gzip)", "*.jsonl.gz"));
+        chooser.setInitialFileName(department.getDept_name().replaceAll("\\W+", "-").toLowerCase()
+            + "-complaints-" + LocalDate.now() + ".csv");
+        File file = chooser.showSaveDialog(btnExport.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        btnExport.setDisable(true);
+        btnExport.setText("⏳ Exporting...");
+        CompletableFuture<ExportReport> export = CompletableFuture.supplyAsync(() -> {
+            try {
+                return complaintExporter.export(ExportFilter.forDepartment(department.getDept_id()), file.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, RepositoryExecutor.get());
+
+        tasks.run("export", export, report -> {
+            resetExportButton();
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Export Complete");
+            alert.setHeaderText("Exported " + report.complaints() + " complaints and "
+                + report.responses() + " responses");
+            alert.setContentText(report.file().toString());
+            alert.showAndWait();
+        }, e -> {
+            resetExportButton();
+            System.err.println("Error exporting complaints: " + e.getMessage());
+            e.printStackTrace();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText("Export Failed");
+            alert.setContentText("Could not export complaints: " + e.getMessage());
+            alert.showAndWait();
+        });
+    }
+
+    private void resetExportButton() {
+        btnExport.setDisable(false);
+        btnExport.setText("⬇ Export");
+    }
+
     /**
      * Handle Logout button
      */
     @FXML
     private void handleLogout(ActionEvent event) {
+        session.signOut();
         try {
-            // Close EntityManagerFactory
-            if (emf != null && emf.isOpen()) {
-                emf.close();
-            }
-
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Login.fxml"));
             Parent root = loader.load();
 
@@ -395,6 +557,8 @@ public class AuthorityDashboardController {
 
             // Get current stage and set new scene
             Stage stage = (Stage) btnLogout.getScene().getWindow();
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Complaint Management System - Login");
             stage.setResizable(false);
@@ -412,9 +576,7 @@ public class AuthorityDashboardController {
      * Cleanup method
      */
     public void cleanup() {
-        if (emf != null && emf.isOpen()) {
-            emf.close();
-        }
+        tasks.close();
     }
 
     /**
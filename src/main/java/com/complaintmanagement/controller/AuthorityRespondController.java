@@ -1,7 +1,12 @@
 package com.complaintmanagement.controller;
 
 import com.complaintmanagement.model.*;
-import jakarta.persistence.*;
+import com.complaintmanagement.repository.AccountRepository;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.ResponseRepository;
+import com.complaintmanagement.repository.StatusTransition;
+import com.complaintmanagement.service.DuplicateComplaintDetector;
+import com.complaintmanagement.service.SessionContext;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -11,7 +16,6 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Controller for the Authority Respond to Complaint page.
@@ -36,28 +40,43 @@ public class AuthorityRespondController {
     @FXML private Button closeTicketButton;
     @FXML private Button backButton;
 
-    private EntityManagerFactory emf;
-    private EntityManager em;
+    private final AccountRepository accountRepository;
+    private final ComplaintRepository complaintRepository;
+    private final ResponseRepository responseRepository;
+    private final SessionContext session;
+    private final UiTaskScope tasks = new UiTaskScope();
     
     private Complaint complaint;
     private Authority authority;
     private Long authorityId;
     private String authorityName;
 
+    /**
+     * Creates the controller backed by the application-wide EntityManagerFactory and session
+     */
+    public AuthorityRespondController() {
+        this(new AccountRepository(), new ComplaintRepository(), new ResponseRepository(), SessionContext.shared());
+    }
+
+    /**
+     * Creates the controller with injected repositories and session
+     */
+    public AuthorityRespondController(AccountRepository accountRepository,
+                                      ComplaintRepository complaintRepository,
+                                      ResponseRepository responseRepository,
+                                      SessionContext session) {
+        this.accountRepository = accountRepository;
+        this.complaintRepository = complaintRepository;
+        this.responseRepository = responseRepository;
+        this.session = session;
+    }
+
     /**
      * Initialize method called after FXML loading
      */
     @FXML
     public void initialize() {
-        try {
-            emf = Persistence.createEntityManagerFactory("complaint-management-pu");
-            em = emf.createEntityManager();
-            System.out.println("AuthorityRespondController initialized successfully");
-        } catch (Exception e) {
-            System.err.println("Error initializing EntityManager: " + e.getMessage());
-            e.printStackTrace();
-            showError("Database connection error. Please contact administrator.");
-        }
+        System.out.println("AuthorityRespondController initialized successfully");
     }
 
     /**
@@ -73,28 +92,32 @@ public class AuthorityRespondController {
     }
 
     /**
-     * Load authority entity from database
+     * Take the authority from the session, or load it when opened outside a session
      */
     private void loadAuthorityData() {
-        try {
-            authority = em.find(Authority.class, authorityId);
+        authority = session.authority(authorityId).orElse(null);
+        if (authority != null) {
+            return;
+        }
+        tasks.run("authority", accountRepository.findAuthority(authorityId), found -> {
+            authority = found.orElse(null);
             if (authority == null) {
                 showError("Authority not found.");
                 System.err.println("Authority with ID " + authorityId + " not found");
             }
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading authority: " + e.getMessage());
             e.printStackTrace();
             showError("Error loading authority data.");
-        }
+        });
     }
 
     /**
      * Load complaint details and display them
      */
     private void loadComplaintData(Long complaintId) {
-        try {
-            complaint = em.find(Complaint.class, complaintId);
+        tasks.run("complaint", complaintRepository.findById(complaintId), found -> {
+            complaint = found.orElse(null);
             
             if (complaint != null) {
                 // Update UI with complaint details
@@ -119,25 +142,18 @@ public class AuthorityRespondController {
                 showError("Complaint not found.");
                 System.err.println("Complaint with ID " + complaintId + " not found");
             }
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading complaint: " + e.getMessage());
             e.printStackTrace();
             showError("Error loading complaint details.");
-        }
+        });
     }
 
     /**
      * Load and display previous responses to this complaint
      */
     private void loadPreviousResponses(Long complaintId) {
-        try {
-            TypedQuery<Response> query = em.createQuery(
-                "SELECT r FROM Response r WHERE r.complaint.complaintId = :complaintId ORDER BY r.responseDate DESC",
-                Response.class
-            );
-            query.setParameter("complaintId", complaintId);
-            List<Response> responses = query.getResultList();
-            
+        tasks.run("responses", responseRepository.findByComplaint(complaintId, true), responses -> {
             if (!responses.isEmpty()) {
                 responsesContainer.setVisible(true);
                 responsesContainer.setManaged(true);
@@ -150,10 +166,10 @@ public class AuthorityRespondController {
                 
                 System.out.println("Loaded " + responses.size() + " previous responses");
             }
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading responses: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 
     /**
@@ -239,61 +255,32 @@ public class AuthorityRespondController {
             return;
         }
         
-        try {
-            em.getTransaction().begin();
-            
-            // Get max response_id for this complaint and authority
-            TypedQuery<Long> maxQuery = em.createQuery(
-                "SELECT COALESCE(MAX(r.id.response_id), 0) FROM Response r WHERE r.id.complaint_id = :complaintId AND r.id.authority_id = :authorityId",
-                Long.class
-            );
-            maxQuery.setParameter("complaintId", complaint.getComplaint_id());
-            maxQuery.setParameter("authorityId", authority.getAuthority_id());
-            Long maxResponseId = maxQuery.getSingleResult();
-            
-            // Create ResponseId (composite key)
-            ResponseId responseId = new ResponseId(complaint.getComplaint_id(), authority.getAuthority_id(), maxResponseId + 1);
-            
-            // Create new response
-            Response response = new Response();
-            response.setId(responseId);
-            response.setComplaint(complaint);
-            response.setAuthority(authority);
-            response.setResponse(responseText);
-            response.setResponse_date(new java.util.Date());
-            
-            // Persist the response
-            em.persist(response);
-            
-            // Update complaint status to IN_PROGRESS if it was UNREAD or READ
-            if (complaint.getResolve_status() == ComplaintStatus.UNREAD || 
-                complaint.getResolve_status() == ComplaintStatus.READ) {
-                complaint.setResolve_status(ComplaintStatus.IN_PROGRESS);
-                em.merge(complaint);
-            }
-            
-            em.getTransaction().commit();
-            
-            System.out.println("Response submitted successfully for complaint #" + complaint.getComplaint_id());
-            
-            // Show success message
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Success");
-            alert.setHeaderText("Response Submitted");
-            alert.setContentText("Your response has been submitted successfully!");
-            alert.showAndWait();
-            
-            // Navigate back to dashboard
-            handleBack();
-            
-        } catch (Exception e) {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            System.err.println("Error submitting response: " + e.getMessage());
-            e.printStackTrace();
-            showError("Error submitting response. Please try again.");
-        }
+        submitButton.setDisable(true);
+        tasks.run("submitResponse",
+            responseRepository.submit(complaint.getComplaint_id(), authority.getAuthority_id(), responseText,
+                                      complaint.getResolve_status()),
+            transition -> {
+                if (!transition.applied()) {
+                    showConflict(transition);
+                    return;
+                }
+                System.out.println("Response submitted successfully for complaint #" + complaint.getComplaint_id());
+                
+                // Show success message
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Success");
+                alert.setHeaderText("Response Submitted");
+                alert.setContentText("Your response has been submitted successfully!");
+                alert.showAndWait();
+                
+                // Navigate back to dashboard
+                handleBack();
+            }, e -> {
+                submitButton.setDisable(false);
+                System.err.println("Error submitting response: " + e.getMessage());
+                e.printStackTrace();
+                showError("Error submitting response. Please try again.");
+            });
     }
 
     /**
@@ -323,35 +310,55 @@ public class AuthorityRespondController {
      * Close the complaint and update status to CLOSED
      */
     private void closeComplaint() {
-        try {
-            em.getTransaction().begin();
-            
-            // Update complaint status to CLOSED
-            complaint.setResolve_status(ComplaintStatus.CLOSED);
-            em.merge(complaint);
-            
-            em.getTransaction().commit();
-            
-            System.out.println("Complaint #" + complaint.getComplaint_id() + " closed successfully");
-            
-            // Show success message
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Success");
-            alert.setHeaderText("Complaint Closed");
-            alert.setContentText("The complaint has been successfully closed!");
-            alert.showAndWait();
+        closeTicketButton.setDisable(true);
+        tasks.run("closeComplaint",
+            complaintRepository.transition(complaint.getComplaint_id(), complaint.getResolve_status(), ComplaintStatus.CLOSED),
+            transition -> {
+                if (!transition.applied()) {
+                    showConflict(transition);
+                    return;
+                }
+                complaint.setResolve_status(transition.status());
+                complaint.setVersion(transition.version());
+                // A closed complaint is no longer a candidate for new duplicates
+                DuplicateComplaintDetector.shared().remove(complaint.getComplaint_id());
+                System.out.println("Complaint #" + complaint.getComplaint_id() + " closed successfully");
             
-            // Navigate back to dashboard
-            handleBack();
+                // Show success message
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Success");
+                alert.setHeaderText("Complaint Closed");
+                alert.setContentText("The complaint has been successfully closed!");
+                alert.showAndWait();
             
-        } catch (Exception e) {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            System.err.println("Error closing complaint: " + e.getMessage());
-            e.printStackTrace();
-            showError("Error closing complaint. Please try again.");
+                // Navigate back to dashboard
+                handleBack();
+            }, e -> {
+                closeTicketButton.setDisable(false);
+                System.err.println("Error closing complaint: " + e.getMessage());
+                e.printStackTrace();
+                showError("Error closing complaint. Please try again.");
+            });
+    }
+
+    /**
+     * Show the status another authority committed and let this authority decide again.
+     * Only the status and the response list are refreshed; the typed response is kept.
+     */
+    private void showConflict(StatusTransition transition) {
+        if (transition.outcome() == StatusTransition.Outcome.NOT_FOUND) {
+            showError("This complaint no longer exists.");
+            return;
         }
+        System.out.println("Complaint #" + complaint.getComplaint_id() + " was changed concurrently, now " + transition.status());
+        complaint.setResolve_status(transition.status());
+        complaint.setVersion(transition.version());
+        statusLabel.setText(transition.status().toString());
+        applyStatusStyling(transition.status());
+        updateUIBasedOnStatus(transition.status());
+        loadPreviousResponses(complaint.getComplaint_id());
+        showError("Another authority updated this complaint (now " + transition.status() + "). "
+                + "Review the latest responses and try again.");
     }
 
     /**
@@ -371,6 +378,8 @@ public class AuthorityRespondController {
             Stage stage = (Stage) backButton.getScene().getWindow();
             Scene scene = new Scene(root);
             scene.getStylesheets().add(getClass().getResource("/css/authority-dashboard.css").toExternalForm());
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Authority Dashboard");
             
@@ -395,11 +404,6 @@ public class AuthorityRespondController {
      * Cleanup resources when controller is destroyed
      */
     public void cleanup() {
-        if (em != null && em.isOpen()) {
-            em.close();
-        }
-        if (emf != null && emf.isOpen()) {
-            emf.close();
-        }
+        tasks.close();
     }
 }
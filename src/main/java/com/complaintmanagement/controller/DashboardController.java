@@ -13,14 +13,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import com.complaintmanagement.model.Complaint;
 import com.complaintmanagement.model.ComplaintStatus;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
-import jakarta.persistence.TypedQuery;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.ComplaintSummary;
+import com.complaintmanagement.service.SessionContext;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Controller for the Dashboard FXML view.
@@ -87,7 +84,24 @@ public class DashboardController {
     private Long userId;
     private String userName;
     
-    private EntityManagerFactory emf;
+    private final ComplaintRepository complaintRepository;
+    private final SessionContext session;
+    private final UiTaskScope tasks = new UiTaskScope();
+
+    /**
+     * Creates the controller backed by the application-wide EntityManagerFactory and session
+     */
+    public DashboardController() {
+        this(new ComplaintRepository(), SessionContext.shared());
+    }
+
+    /**
+     * Creates the controller with an injected repository and session
+     */
+    public DashboardController(ComplaintRepository complaintRepository, SessionContext session) {
+        this.complaintRepository = complaintRepository;
+        this.session = session;
+    }
 
     /**
      * Initialize the controller.
@@ -97,9 +111,6 @@ public class DashboardController {
     public void initialize() {
         System.out.println("Dashboard Controller initialized");
         
-        // Initialize EntityManagerFactory
-        emf = Persistence.createEntityManagerFactory("complaint-management-pu");
-        
         // Setup table columns
         setupTableColumns();
     }
@@ -193,48 +204,19 @@ public class DashboardController {
      * Load complaint statistics
      */
     private void loadComplaintStatistics() {
-        EntityManager em = emf.createEntityManager();
-        try {
-            // Total complaints
-            TypedQuery<Long> totalQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.citizen.citizen_id = :citizenId", 
-                Long.class);
-            totalQuery.setParameter("citizenId", userId);
-            Long total = totalQuery.getSingleResult();
+        tasks.run("statistics", complaintRepository.countStatusesByCitizen(userId), counts -> {
+            long total = counts.values().stream().mapToLong(Long::longValue).sum();
             lblTotalComplaints.setText(String.valueOf(total));
             
             // Pending complaints (UNREAD + READ)
-            TypedQuery<Long> pendingQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.citizen.citizen_id = :citizenId " +
-                "AND (c.resolve_status = :unread OR c.resolve_status = :read)", 
-                Long.class);
-            pendingQuery.setParameter("citizenId", userId);
-            pendingQuery.setParameter("unread", ComplaintStatus.UNREAD);
-            pendingQuery.setParameter("read", ComplaintStatus.READ);
-            Long pending = pendingQuery.getSingleResult();
+            long pending = counts.get(ComplaintStatus.UNREAD) + counts.get(ComplaintStatus.READ);
             lblPendingComplaints.setText(String.valueOf(pending));
             
-            // In Progress complaints
-            TypedQuery<Long> inProgressQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.citizen.citizen_id = :citizenId " +
-                "AND c.resolve_status = :inProgress", 
-                Long.class);
-            inProgressQuery.setParameter("citizenId", userId);
-            inProgressQuery.setParameter("inProgress", ComplaintStatus.IN_PROGRESS);
-            Long inProgress = inProgressQuery.getSingleResult();
-            lblInProgressComplaints.setText(String.valueOf(inProgress));
+            lblInProgressComplaints.setText(String.valueOf(counts.get(ComplaintStatus.IN_PROGRESS)));
             
             // Resolved complaints (CLOSED)
-            TypedQuery<Long> resolvedQuery = em.createQuery(
-                "SELECT COUNT(c) FROM Complaint c WHERE c.citizen.citizen_id = :citizenId " +
-                "AND c.resolve_status = :closed", 
-                Long.class);
-            resolvedQuery.setParameter("citizenId", userId);
-            resolvedQuery.setParameter("closed", ComplaintStatus.CLOSED);
-            Long resolved = resolvedQuery.getSingleResult();
-            lblResolvedComplaints.setText(String.valueOf(resolved));
-            
-        } catch (Exception e) {
+            lblResolvedComplaints.setText(String.valueOf(counts.get(ComplaintStatus.CLOSED)));
+        }, e -> {
             System.err.println("Error loading complaint statistics: " + e.getMessage());
             e.printStackTrace();
             // Set default values on error
@@ -242,44 +224,32 @@ public class DashboardController {
             lblPendingComplaints.setText("0");
             lblInProgressComplaints.setText("0");
             lblResolvedComplaints.setText("0");
-        } finally {
-            em.close();
-        }
+        });
     }
     
     /**
      * Load recent complaints into table
      */
     private void loadRecentComplaints() {
-        EntityManager em = emf.createEntityManager();
-        try {
-            // Query recent complaints (last 10)
-            TypedQuery<Complaint> query = em.createQuery(
-                "SELECT c FROM Complaint c WHERE c.citizen.citizen_id = :citizenId " +
-                "ORDER BY c.complaint_date DESC", 
-                Complaint.class);
-            query.setParameter("citizenId", userId);
-            query.setMaxResults(10);
-            
-            List<Complaint> complaints = query.getResultList();
-            
+        // Query recent complaints (last 10)
+        tasks.run("recentComplaints", complaintRepository.findRecentByCitizen(userId, 10), complaints -> {
             // Convert to table rows
             ObservableList<ComplaintRow> rows = FXCollections.observableArrayList();
             
-            for (Complaint complaint : complaints) {
+            for (ComplaintSummary complaint : complaints) {
                 // Convert Date to LocalDate for formatting
                 String formattedDate = "";
-                if (complaint.getComplaint_date() != null) {
+                if (complaint.complaintDate() != null) {
                     formattedDate = new java.text.SimpleDateFormat("MMM dd, yyyy")
-                        .format(complaint.getComplaint_date());
+                        .format(complaint.complaintDate());
                 }
                 
                 ComplaintRow row = new ComplaintRow(
-                    String.valueOf(complaint.getComplaint_id()),
-                    complaint.getComplaint_title(),
-                    complaint.getComplaint_type(),
-                    complaint.getDepartment().getDept_name(),
-                    complaint.getResolve_status().toString(),
+                    String.valueOf(complaint.complaintId()),
+                    complaint.title(),
+                    complaint.type(),
+                    complaint.departmentName(),
+                    complaint.status().toString(),
                     formattedDate
                 );
                 rows.add(row);
@@ -289,14 +259,11 @@ public class DashboardController {
             
             // Update table info
             lblTableInfo.setText("Showing " + rows.size() + " complaint" + (rows.size() != 1 ? "s" : ""));
-            
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading recent complaints: " + e.getMessage());
             e.printStackTrace();
             lblTableInfo.setText("Showing 0 complaints");
-        } finally {
-            em.close();
-        }
+        });
     }
     
     /**
@@ -328,6 +295,8 @@ public class DashboardController {
             
             // Get current stage and set new scene
             Stage stage = (Stage) btnRegisterComplaint.getScene().getWindow();
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Complaint Management System - Register Complaint");
             stage.show();
@@ -369,6 +338,8 @@ public class DashboardController {
             
             // Get current stage and set new scene
             Stage stage = (Stage) tblRecentComplaints.getScene().getWindow();
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Complaint Management System - View Complaint");
             stage.show();
@@ -386,12 +357,8 @@ public class DashboardController {
      */
     @FXML
     private void handleLogout(ActionEvent event) {
+        session.signOut();
         try {
-            // Close EntityManagerFactory
-            if (emf != null && emf.isOpen()) {
-                emf.close();
-            }
-            
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Login.fxml"));
             Parent root = loader.load();
             
@@ -401,6 +368,8 @@ public class DashboardController {
             
             // Get current stage and set new scene
             Stage stage = (Stage) btnLogout.getScene().getWindow();
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Complaint Management System - Login");
             stage.setResizable(false);
@@ -1,11 +1,11 @@
 package com.complaintmanagement.controller;
 
-import com.complaintmanagement.model.Authority;
-import com.complaintmanagement.model.Citizen;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
-import jakarta.persistence.TypedQuery;
+import com.complaintmanagement.repository.AccountPrincipal;
+import com.complaintmanagement.service.AccountLookupService;
+import com.complaintmanagement.service.LoginThrottledException;
+import com.complaintmanagement.service.PersistenceBootstrap;
+import com.complaintmanagement.service.SessionContext;
+import com.complaintmanagement.service.UserSession;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -14,6 +14,8 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for the Login page.
@@ -36,27 +38,50 @@ public class LoginController {
     @FXML
     private Label statusLabel;
     
-    private EntityManagerFactory emf;
-    private EntityManager em;
+    @FXML
+    private Label readyLabel;
     
+    private final AccountLookupService accountLookup;
+    private final PersistenceBootstrap bootstrap;
+    private final SessionContext session;
+    private final UiTaskScope tasks = new UiTaskScope();
+
+    /**
+     * Creates the controller with the application-wide account lookup, bootstrap and session
+     */
+    public LoginController() {
+        this(AccountLookupService.shared(), PersistenceBootstrap.shared(), SessionContext.shared());
+    }
+
+    /**
+     * Creates the controller with an injected account lookup, bootstrap and session
+     */
+    public LoginController(AccountLookupService accountLookup, PersistenceBootstrap bootstrap,
+                           SessionContext session) {
+        this.accountLookup = accountLookup;
+        this.bootstrap = bootstrap;
+        this.session = session;
+    }
+
     /**
      * Initialize method called after FXML loading
      */
     @FXML
     public void initialize() {
-        // Initialize JPA EntityManager
-        try {
-            emf = Persistence.createEntityManagerFactory("complaint-management-pu");
-            em = emf.createEntityManager();
-            System.out.println("LoginController initialized successfully");
-        } catch (Exception e) {
-            System.err.println("Error initializing EntityManager: " + e.getMessage());
-            e.printStackTrace();
-            showError("Database connection error. Please contact administrator.");
-        }
+        System.out.println("LoginController initialized successfully");
         
         // Add Enter key listener for login
         passwordField.setOnAction(event -> handleLogin(event));
+        
+        // The form is usable right away; the indicator follows the background bootstrap from Main.init()
+        showConnecting();
+        tasks.run("bootstrap", bootstrap.ready().copy(), millis -> {
+            readyLabel.setText("● Ready");
+            readyLabel.getStyleClass().setAll("ready-label", "ready");
+        }, e -> {
+            readyLabel.setText("● Database unavailable");
+            readyLabel.getStyleClass().setAll("ready-label", "unavailable");
+        });
     }
     
     /**
@@ -77,81 +102,44 @@ public class LoginController {
         loginButton.setDisable(true);
         statusLabel.setVisible(false);
         
-        try {
-            // Try to authenticate as Citizen first
-            Citizen citizen = authenticateCitizen(username, password);
-            if (citizen != null) {
-                showSuccess("Login successful! Welcome, " + citizen.getCitizen_name());
-                // TODO: Navigate to Citizen Dashboard
-                openDashboard("Citizen", citizen.getCitizen_id(), citizen.getCitizen_name());
+        // A login submitted before warm-up finishes waits for it rather than bootstrapping again
+        if (!bootstrap.isReady()) {
+            showConnecting();
+        }
+        // One lookup covers citizens and authorities, off the FX thread (or none for a recent login);
+        // the account is then loaded once for every screen of this session
+        CompletableFuture<Optional<UserSession>> login = bootstrap.ready()
+            .exceptionally(error -> null)
+            .thenCompose(ignored -> accountLookup.authenticate(username, password))
+            .thenCompose(account -> account.isEmpty()
+                ? CompletableFuture.completedFuture(Optional.<UserSession>empty())
+                : session.signIn(account.get()).thenApply(Optional::of));
+        
+        tasks.run("login", login, signedIn -> {
+            loginButton.setDisable(false);
+            if (signedIn.isEmpty()) {
+                showError("Invalid username or password");
                 return;
             }
-            
-            // Try to authenticate as Authority
-            Authority authority = authenticateAuthority(username, password);
-            if (authority != null) {
-                showSuccess("Login successful! Welcome, " + authority.getAuthority_designation());
-                // TODO: Navigate to Authority Dashboard
-                openDashboard("Authority", authority.getAuthority_id(), authority.getAuthority_username());
+            AccountPrincipal principal = signedIn.get().principal();
+            System.out.println(principal.role().getUserType() + " authenticated: " + username);
+            showSuccess("Login successful! Welcome, " + principal.displayName());
+            // Citizens are shown by name, authorities by username
+            openDashboard(principal.role().getUserType(), principal.accountId(),
+                principal.role() == AccountPrincipal.Role.CITIZEN ? principal.displayName() : principal.username());
+        }, e -> {
+            loginButton.setDisable(false);
+            if (e instanceof LoginThrottledException throttled) {
+                System.err.println("Login throttled for " + username + ": " + throttled.getMessage()
+                    + " " + accountLookup.throttleMetrics());
+                long seconds = Math.max(1, (throttled.getRetryAfterMillis() + 999) / 1000);
+                showError("Too many login attempts. Please try again in " + seconds + " seconds.");
                 return;
             }
-            
-            // If neither authentication succeeds
-            showError("Invalid username or password");
-            
-        } catch (Exception e) {
             System.err.println("Login error: " + e.getMessage());
             e.printStackTrace();
             showError("An error occurred during login. Please try again.");
-        } finally {
-            loginButton.setDisable(false);
-        }
-    }
-    
-    /**
-     * Authenticates a citizen user
-     */
-    private Citizen authenticateCitizen(String username, String password) {
-        try {
-            TypedQuery<Citizen> query = em.createQuery(
-                "SELECT c FROM Citizen c WHERE c.citizen_username = :username", 
-                Citizen.class
-            );
-            query.setParameter("username", username);
-            
-            Citizen citizen = query.getResultList().stream().findFirst().orElse(null);
-            
-            if (citizen != null && citizen.getCitizen_password().equals(password)) {
-                System.out.println("Citizen authenticated: " + username);
-                return citizen;
-            }
-        } catch (Exception e) {
-            System.err.println("Error authenticating citizen: " + e.getMessage());
-        }
-        return null;
-    }
-    
-    /**
-     * Authenticates an authority user
-     */
-    private Authority authenticateAuthority(String username, String password) {
-        try {
-            TypedQuery<Authority> query = em.createQuery(
-                "SELECT a FROM Authority a WHERE a.authority_username = :username", 
-                Authority.class
-            );
-            query.setParameter("username", username);
-            
-            Authority authority = query.getResultList().stream().findFirst().orElse(null);
-            
-            if (authority != null && authority.getAuthority_password().equals(password)) {
-                System.out.println("Authority authenticated: " + username);
-                return authority;
-            }
-        } catch (Exception e) {
-            System.err.println("Error authenticating authority: " + e.getMessage());
-        }
-        return null;
+        });
     }
     
     /**
@@ -218,6 +206,14 @@ public class LoginController {
         System.out.println("Login form cleared");
     }
     
+    /**
+     * Shows that the database connection is still being set up
+     */
+    private void showConnecting() {
+        readyLabel.setText("⏳ Connecting to database...");
+        readyLabel.getStyleClass().setAll("ready-label");
+    }
+    
     /**
      * Shows an error message
      */
@@ -240,11 +236,6 @@ public class LoginController {
      * Cleanup method
      */
     public void cleanup() {
-        if (em != null && em.isOpen()) {
-            em.close();
-        }
-        if (emf != null && emf.isOpen()) {
-            emf.close();
-        }
+        tasks.close();
     }
 }
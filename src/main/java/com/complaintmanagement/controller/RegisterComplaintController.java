@@ -4,10 +4,13 @@ import com.complaintmanagement.model.Citizen;
 import com.complaintmanagement.model.Complaint;
 import com.complaintmanagement.model.ComplaintStatus;
 import com.complaintmanagement.model.Department;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
-import jakarta.persistence.TypedQuery;
+import com.complaintmanagement.repository.AccountRepository;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.service.ComplaintRoutingTable;
+import com.complaintmanagement.service.ComplaintSearchIndex;
+import com.complaintmanagement.service.DuplicateCandidate;
+import com.complaintmanagement.service.DuplicateComplaintDetector;
+import com.complaintmanagement.service.SessionContext;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -18,8 +21,11 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 
+import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for the Register Complaint page.
@@ -74,8 +80,13 @@ public class RegisterComplaintController {
     @FXML
     private Button cancelButton;
     
-    private EntityManagerFactory emf;
-    private EntityManager em;
+    private final AccountRepository accountRepository;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintRoutingTable routingTable;
+    private final ComplaintSearchIndex searchIndex;
+    private final DuplicateComplaintDetector duplicateDetector;
+    private final SessionContext session;
+    private final UiTaskScope tasks = new UiTaskScope();
     
     // Current logged-in citizen (will be passed from login/dashboard)
     private Citizen currentCitizen;
@@ -84,22 +95,40 @@ public class RegisterComplaintController {
     
     private static final int MAX_TITLE_LENGTH = 200;
     private static final int MAX_DESC_LENGTH = 1000;
-    
+    private static final int MAX_DUPLICATES = 3;
+
+    /**
+     * Creates the controller backed by the application-wide EntityManagerFactory, routing table,
+     * search index, duplicate detector and session
+     */
+    public RegisterComplaintController() {
+        this(new AccountRepository(), new ComplaintRepository(), ComplaintRoutingTable.shared(),
+            ComplaintSearchIndex.shared(), DuplicateComplaintDetector.shared(), SessionContext.shared());
+    }
+
+    /**
+     * Creates the controller with injected repositories, indexes and session
+     */
+    public RegisterComplaintController(AccountRepository accountRepository,
+                                       ComplaintRepository complaintRepository,
+                                       ComplaintRoutingTable routingTable,
+                                       ComplaintSearchIndex searchIndex,
+                                       DuplicateComplaintDetector duplicateDetector,
+                                       SessionContext session) {
+        this.accountRepository = accountRepository;
+        this.complaintRepository = complaintRepository;
+        this.routingTable = routingTable;
+        this.searchIndex = searchIndex;
+        this.duplicateDetector = duplicateDetector;
+        this.session = session;
+    }
+
     /**
      * Initialize method called after FXML loading
      */
     @FXML
     public void initialize() {
-        // Initialize JPA EntityManager
-        try {
-            emf = Persistence.createEntityManagerFactory("complaint-management-pu");
-            em = emf.createEntityManager();
-            System.out.println("RegisterComplaintController initialized successfully");
-        } catch (Exception e) {
-            System.err.println("Error initializing EntityManager: " + e.getMessage());
-            e.printStackTrace();
-            showError("Database connection error. Please contact administrator.");
-        }
+        System.out.println("RegisterComplaintController initialized successfully");
         
         // Set up complaint types
         setupComplaintTypes();
@@ -115,27 +144,16 @@ public class RegisterComplaintController {
     }
     
     /**
-     * Set up complaint types
+     * Set up complaint types from the routing table
      */
     private void setupComplaintTypes() {
-        ObservableList<String> complaintTypes = FXCollections.observableArrayList(
-            "Infrastructure Issue",
-            "Public Safety",
-            "Sanitation & Hygiene",
-            "Water Supply",
-            "Electricity",
-            "Road Maintenance",
-            "Drainage Problem",
-            "Noise Pollution",
-            "Air Pollution",
-            "Illegal Construction",
-            "Street Lighting",
-            "Garbage Collection",
-            "Public Transport",
-            "Traffic Management",
-            "Other"
-        );
-        complaintTypeCombo.setItems(complaintTypes);
+        tasks.run("complaintTypes", routingTable.load(), routes -> {
+            ObservableList<String> complaintTypes = FXCollections.observableArrayList(routes.types());
+            complaintTypeCombo.setItems(complaintTypes);
+        }, e -> {
+            System.err.println("Error loading complaint types: " + e.getMessage());
+            showError("Could not load complaint types. Please try again later.");
+        });
     }
     
     /**
@@ -187,13 +205,15 @@ public class RegisterComplaintController {
         this.currentCitizenName = citizenName;
         userInfoLabel.setText("Citizen: " + citizenName);
         
-        // Load the full citizen entity
-        try {
-            currentCitizen = em.find(Citizen.class, citizenId);
-            System.out.println("Citizen loaded: " + citizenName);
-        } catch (Exception e) {
-            System.err.println("Error loading citizen: " + e.getMessage());
+        // The citizen loaded at login; only load it when opened outside a session
+        currentCitizen = session.citizen(citizenId).orElse(null);
+        if (currentCitizen != null) {
+            return;
         }
+        tasks.run("citizen", accountRepository.findCitizen(citizenId), citizen -> {
+            currentCitizen = citizen.orElse(null);
+            System.out.println("Citizen loaded: " + citizenName);
+        }, e -> System.err.println("Error loading citizen: " + e.getMessage()));
     }
     
     /**
@@ -210,87 +230,150 @@ public class RegisterComplaintController {
         submitButton.setDisable(true);
         statusLabel.setVisible(false);
         
-        try {
-            // Get complaint type
-            String complaintType = complaintTypeCombo.getValue();
-            
-            // Automatically determine department based on complaint type
-            Department assignedDepartment = getDepartmentForComplaintType(complaintType);
-            
-            if (assignedDepartment == null) {
-                showError("Could not assign department. Please try again.");
+        // Get complaint type
+        String complaintType = complaintTypeCombo.getValue();
+        String title = titleField.getText().trim();
+        String description = descriptionArea.getText().trim();
+        
+        // Automatically determine department based on complaint type, then look for open complaints saying the same
+        CompletableFuture<Optional<Draft>> prepared = getDepartmentForComplaintType(complaintType)
+            .thenCompose(assignedDepartment -> {
+                if (assignedDepartment.isEmpty()) {
+                    return CompletableFuture.completedFuture(Optional.<Draft>empty());
+                }
+                return loadCitizen().thenApply(citizen -> {
+                    // Create new complaint object
+                    Complaint complaint = new Complaint();
+                    complaint.setComplaint_title(title);
+                    complaint.setComplaint_type(complaintType);
+                    complaint.setDepartment(assignedDepartment.get());
+                    complaint.setComplaint_descp(description);
+                    complaint.setResolve_status(ComplaintStatus.UNREAD);
+                    complaint.setComplaint_date(new Date());
+                    complaint.setCitizen(citizen);
+                    
+                    List<DuplicateCandidate> duplicates = duplicateDetector.findDuplicates(
+                        assignedDepartment.get().getDept_id(), citizen.getCitizen_pincode(),
+                        title, description, MAX_DUPLICATES);
+                    return Optional.of(new Draft(complaint, duplicates));
+                });
+            });
+        
+        tasks.run("submit", prepared, draft -> {
+            if (draft.isEmpty()) {
                 submitButton.setDisable(false);
+                showError("Could not assign department. Please try again.");
                 return;
             }
-            
-            // Create new complaint object
-            Complaint complaint = new Complaint();
-            complaint.setComplaint_title(titleField.getText().trim());
-            complaint.setComplaint_type(complaintType);
-            complaint.setDepartment(assignedDepartment);
-            complaint.setComplaint_descp(descriptionArea.getText().trim());
-            complaint.setResolve_status(ComplaintStatus.UNREAD);
-            complaint.setComplaint_date(new Date());
-            
-            // Set citizen (ensure we have the citizen loaded)
-            if (currentCitizen == null && currentCitizenId != null) {
-                currentCitizen = em.find(Citizen.class, currentCitizenId);
+            List<DuplicateCandidate> duplicates = draft.get().duplicates();
+            if (duplicates.isEmpty()) {
+                saveComplaint(draft.get().complaint(), null);
+                return;
             }
             
-            if (currentCitizen == null) {
-                showError("User session expired. Please login again.");
+            // Let the citizen link to the existing complaint instead of filing the same thing again
+            DuplicateCandidate best = duplicates.get(0);
+            ButtonType link = new ButtonType("Link to #" + best.complaintId());
+            ButtonType separate = new ButtonType("Submit Separately");
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION, describeDuplicates(duplicates),
+                link, separate, ButtonType.CANCEL);
+            alert.setTitle("Similar Complaint Found");
+            alert.setHeaderText("An open complaint in your area looks like this one");
+            ButtonType choice = alert.showAndWait().orElse(ButtonType.CANCEL);
+            if (choice == link) {
+                saveComplaint(draft.get().complaint(), best.complaintId());
+            } else if (choice == separate) {
+                saveComplaint(draft.get().complaint(), null);
+            } else {
                 submitButton.setDisable(false);
-                return;
+                showWarning("Not submitted. You can follow complaint #" + best.complaintId() + " instead.");
             }
-            
-            complaint.setCitizen(currentCitizen);
-            
-            // Save complaint to database
-            em.getTransaction().begin();
-            em.persist(complaint);
-            em.getTransaction().commit();
-            
-            System.out.println("Complaint submitted successfully with ID: " + complaint.getComplaint_id());
+        }, this::handleSubmitError);
+    }
+    
+    /**
+     * Save the complaint, linked to an existing one when duplicateOfId is set, then index it
+     */
+    private void saveComplaint(Complaint complaint, Long duplicateOfId) {
+        // Save complaint to database, then make it searchable for the department
+        CompletableFuture<Complaint> submission = complaintRepository.create(complaint, duplicateOfId)
+            .thenApply(created -> {
+                searchIndex.add(created);
+                duplicateDetector.add(created);
+                return created;
+            });
+        
+        tasks.run("submit", submission, saved -> {
+            submitButton.setDisable(false);
+            System.out.println("Complaint submitted successfully with ID: " + saved.getComplaint_id());
             
             // Show success message
-            showSuccess("✓ Complaint submitted successfully! Reference ID: #" + complaint.getComplaint_id());
+            showSuccess("✓ Complaint submitted successfully! Reference ID: #" + saved.getComplaint_id());
             
-            // Clear form after 2 seconds and show confirmation
-            javafx.application.Platform.runLater(() -> {
-                try {
-                    Thread.sleep(2000);
-                    
-                    // Show confirmation dialog
-                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                    alert.setTitle("Complaint Submitted");
-                    alert.setHeaderText("Your complaint has been registered successfully!");
-                    alert.setContentText(
-                        "Reference ID: #" + complaint.getComplaint_id() + "\n" +
-                        "Title: " + complaint.getComplaint_title() + "\n" +
-                        "Department: " + complaint.getDepartment().getDept_name() + "\n" +
-                        "Status: " + complaint.getResolve_status().getDisplayName() + "\n\n" +
-                        "You can track your complaint using the reference ID."
-                    );
-                    alert.showAndWait();
-                    
-                    // Clear form or navigate back
-                    handleClear(null);
-                    
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            });
+            // Show confirmation dialog
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Complaint Submitted");
+            alert.setHeaderText("Your complaint has been registered successfully!");
+            alert.setContentText(
+                "Reference ID: #" + saved.getComplaint_id() + "\n" +
+                "Title: " + saved.getComplaint_title() + "\n" +
+                "Department: " + saved.getDepartment().getDept_name() + "\n" +
+                "Status: " + saved.getResolve_status().getDisplayName() + "\n" +
+                (duplicateOfId != null ? "Linked to: #" + duplicateOfId + "\n" : "") + "\n" +
+                "You can track your complaint using the reference ID."
+            );
+            alert.showAndWait();
             
-        } catch (Exception e) {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            System.err.println("Error submitting complaint: " + e.getMessage());
-            e.printStackTrace();
-            showError("Failed to submit complaint. Please try again.");
-        } finally {
-            submitButton.setDisable(false);
+            // Clear form
+            handleClear(null);
+        }, this::handleSubmitError);
+    }
+    
+    private void handleSubmitError(Throwable e) {
+        submitButton.setDisable(false);
+        if (e instanceof IllegalStateException) {
+            showError(e.getMessage());
+            return;
         }
+        System.err.println("Error submitting complaint: " + e.getMessage());
+        e.printStackTrace();
+        showError("Failed to submit complaint. Please try again.");
+    }
+    
+    /**
+     * Text listing the similar open complaints for the confirmation dialog
+     */
+    private static String describeDuplicates(List<DuplicateCandidate> duplicates) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy");
+        StringBuilder text = new StringBuilder();
+        for (DuplicateCandidate duplicate : duplicates) {
+            text.append("#").append(duplicate.complaintId()).append("  ").append(duplicate.title())
+                .append("  (filed ").append(dateFormat.format(duplicate.complaintDate()))
+                .append(", ").append(Math.round(duplicate.similarity() * 100)).append("% similar)\n");
+        }
+        text.append("\nLinking adds your complaint to the existing one so the department handles them together.");
+        return text.toString();
+    }
+    
+    /**
+     * A complaint ready to save and the open complaints it may repeat
+     */
+    private record Draft(Complaint complaint, List<DuplicateCandidate> duplicates) {
+    }
+    
+    /**
+     * Returns the logged-in citizen, loading it if initializeUser has not finished yet
+     */
+    private CompletableFuture<Citizen> loadCitizen() {
+        if (currentCitizen != null) {
+            return CompletableFuture.completedFuture(currentCitizen);
+        }
+        if (currentCitizenId == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("User session expired. Please login again."));
+        }
+        return accountRepository.findCitizen(currentCitizenId)
+            .thenApply(citizen -> citizen.orElseThrow(
+                () -> new IllegalStateException("User session expired. Please login again.")));
     }
     
     /**
@@ -426,6 +509,8 @@ public class RegisterComplaintController {
             
             // Get current stage and set new scene
             Stage stage = (Stage) backButton.getScene().getWindow();
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Complaint Management System - Dashboard");
             stage.show();
@@ -470,106 +555,27 @@ public class RegisterComplaintController {
     }
     
     /**
-     * Automatically determines the appropriate department based on complaint type
+     * Automatically determines the appropriate department based on complaint type.
+     * Served from the in-memory routing table, so no query runs on the submit path.
      * @param complaintType The type of complaint
-     * @return The appropriate Department entity, or null if not found
+     * @return The appropriate Department entity, or empty if no route exists
      */
-    private Department getDepartmentForComplaintType(String complaintType) {
-        String departmentName = null;
-        
-        // Map complaint types to departments (matching database department names)
-        switch (complaintType) {
-            case "Infrastructure Issue":
-            case "Illegal Construction":
-                departmentName = "Public Works Department";
-                break;
-                
-            case "Road Maintenance":
-                departmentName = "Roads and Highways Department";
-                break;
-                
-            case "Public Safety":
-                departmentName = "Public Safety Department";
-                break;
-                
-            case "Traffic Management":
-                departmentName = "Traffic Management Department";
-                break;
-                
-            case "Sanitation & Hygiene":
-            case "Garbage Collection":
-                departmentName = "Sanitation and Waste Management";
-                break;
-                
-            case "Drainage Problem":
-                departmentName = "Drainage and Sewerage Department";
-                break;
-                
-            case "Water Supply":
-                departmentName = "Water Supply Department";
-                break;
-                
-            case "Electricity":
-                departmentName = "Electricity Department";
-                break;
-                
-            case "Street Lighting":
-                departmentName = "Street Lighting Department";
-                break;
-                
-            case "Noise Pollution":
-            case "Air Pollution":
-                departmentName = "Environmental Protection Department";
-                break;
-                
-            case "Public Transport":
-                departmentName = "Public Transport Department";
-                break;
-                
-            case "Other":
-                // Default to General Administration for unclassified complaints
-                departmentName = "General Administration";
-                break;
-                
-            default:
-                // Fallback to General Administration
-                departmentName = "General Administration";
-                break;
-        }
-        
-        // Query database for the department
-        try {
-            TypedQuery<Department> query = em.createQuery(
-                "SELECT d FROM Department d WHERE d.dept_name = :deptName",
-                Department.class
-            );
-            query.setParameter("deptName", departmentName);
-            List<Department> results = query.getResultList();
-            
-            if (!results.isEmpty()) {
-                Department dept = results.get(0);
-                System.out.println("Auto-assigned department: " + dept.getDept_name() + " for complaint type: " + complaintType);
-                return dept;
+    private CompletableFuture<Optional<Department>> getDepartmentForComplaintType(String complaintType) {
+        return routingTable.load().thenApply(routes -> {
+            Department department = routes.departmentFor(complaintType);
+            if (department != null) {
+                System.out.println("Auto-assigned department: " + department.getDept_name() + " for complaint type: " + complaintType);
             } else {
-                System.err.println("Department not found: " + departmentName);
-                return null;
+                System.err.println("No department route for complaint type: " + complaintType);
             }
-        } catch (Exception e) {
-            System.err.println("Error querying department: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
+            return Optional.ofNullable(department);
+        });
     }
     
     /**
      * Cleanup method
      */
     public void cleanup() {
-        if (em != null && em.isOpen()) {
-            em.close();
-        }
-        if (emf != null && emf.isOpen()) {
-            emf.close();
-        }
+        tasks.close();
     }
 }
@@ -0,0 +1,59 @@
+package com.complaintmanagement.controller;
+
+import javafx.application.Platform;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the background loads started by one screen.
+ * Results are delivered on the FX thread only while they are still current:
+ * a newer load with the same key supersedes an older one, and closing the
+ * scope (when the user navigates away) discards everything still in flight.
+ */
+final class UiTaskScope {
+
+    private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Deliver the result of a background task to the UI unless it has become stale
+     */
+    <T> void run(String key, CompletableFuture<T> task, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        if (closed) {
+            task.cancel(false);
+            return;
+        }
+        CompletableFuture<?> previous = inFlight.put(key, task);
+        if (previous != null && previous != task) {
+            previous.cancel(false);
+        }
+        task.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (closed || !inFlight.remove(key, task)) {
+                return; // superseded or screen already left
+            }
+            if (error == null) {
+                onSuccess.accept(result);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            if (!(cause instanceof CancellationException)) {
+                onFailure.accept(cause);
+            }
+        }));
+    }
+
+    /**
+     * Discard every pending result; called when the screen is left
+     */
+    void close() {
+        closed = true;
+        inFlight.values().forEach(task -> task.cancel(false));
+        inFlight.clear();
+    }
+}
@@ -2,10 +2,8 @@ package com.complaintmanagement.controller;
 
 import com.complaintmanagement.model.Complaint;
 import com.complaintmanagement.model.Response;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
-import jakarta.persistence.TypedQuery;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.ResponseRepository;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -21,7 +19,6 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.text.SimpleDateFormat;
-import java.util.List;
 
 /**
  * Controller for viewing individual complaint details and responses
@@ -70,26 +67,36 @@ public class ViewComplaintController {
     @FXML
     private Button btnClose;
 
-    private EntityManagerFactory emf;
-    private EntityManager em;
+    private final ComplaintRepository complaintRepository;
+    private final ResponseRepository responseRepository;
+    private final UiTaskScope tasks = new UiTaskScope();
 
     private Long complaintId;
     private Long citizenId;
     private String citizenName;
 
+    /**
+     * Creates the controller backed by the application-wide EntityManagerFactory
+     */
+    public ViewComplaintController() {
+        this(new ComplaintRepository(), new ResponseRepository());
+    }
+
+    /**
+     * Creates the controller with injected repositories
+     */
+    public ViewComplaintController(ComplaintRepository complaintRepository,
+                                   ResponseRepository responseRepository) {
+        this.complaintRepository = complaintRepository;
+        this.responseRepository = responseRepository;
+    }
+
     /**
      * Initialize the controller
      */
     @FXML
     public void initialize() {
-        try {
-            emf = Persistence.createEntityManagerFactory("complaint-management-pu");
-            em = emf.createEntityManager();
-            System.out.println("ViewComplaintController initialized successfully");
-        } catch (Exception e) {
-            System.err.println("Error initializing EntityManager: " + e.getMessage());
-            e.printStackTrace();
-        }
+        System.out.println("ViewComplaintController initialized successfully");
     }
 
     /**
@@ -109,14 +116,13 @@ public class ViewComplaintController {
      * Load complaint details and responses
      */
     private void loadComplaintDetails() {
-        try {
-            // Load complaint
-            Complaint complaint = em.find(Complaint.class, complaintId);
-            
-            if (complaint == null) {
+        // Load complaint
+        tasks.run("complaint", complaintRepository.findById(complaintId), found -> {
+            if (found.isEmpty()) {
                 showError("Complaint not found");
                 return;
             }
+            Complaint complaint = found.get();
 
             // Populate complaint details
             lblComplaintId.setText("#" + complaint.getComplaint_id());
@@ -151,31 +157,23 @@ public class ViewComplaintController {
                     break;
             }
             
-            // Load responses
-            loadResponses();
-            
             System.out.println("Complaint details loaded: " + complaint.getComplaint_title());
-            
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading complaint details: " + e.getMessage());
             e.printStackTrace();
             showError("Failed to load complaint details");
-        }
+        });
+        
+        // Load responses
+        loadResponses();
     }
 
     /**
      * Load responses for this complaint
      */
     private void loadResponses() {
-        try {
-            // Query responses for this complaint
-            TypedQuery<Response> query = em.createQuery(
-                "SELECT r FROM Response r WHERE r.complaint.complaint_id = :complaintId ORDER BY r.response_date ASC",
-                Response.class
-            );
-            query.setParameter("complaintId", complaintId);
-            List<Response> responses = query.getResultList();
-            
+        // Query responses for this complaint
+        tasks.run("responses", responseRepository.findByComplaint(complaintId, false), responses -> {
             // Clear existing responses
             responsesContainer.getChildren().clear();
             
@@ -194,11 +192,10 @@ public class ViewComplaintController {
             }
             
             System.out.println("Loaded " + responses.size() + " responses");
-            
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error loading responses: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 
     /**
@@ -251,9 +248,7 @@ public class ViewComplaintController {
     private void handleRefresh(ActionEvent event) {
         System.out.println("Refreshing complaint details...");
         
-        // Refresh the entity manager to get latest data
-        em.clear();
-        
+        // Each load uses a fresh EntityManager, so this always reads the latest data
         loadComplaintDetails();
     }
 
@@ -272,6 +267,8 @@ public class ViewComplaintController {
             // Get current stage and set new scene
             Stage stage = (Stage) btnBack.getScene().getWindow();
             Scene scene = new Scene(root, 1000, 700);
+            // Discard any loads still running for this screen
+            tasks.close();
             stage.setScene(scene);
             stage.setTitle("Complaint Management System - Dashboard");
             stage.show();
@@ -296,11 +293,6 @@ public class ViewComplaintController {
      * Cleanup method
      */
     public void cleanup() {
-        if (em != null && em.isOpen()) {
-            em.close();
-        }
-        if (emf != null && emf.isOpen()) {
-            emf.close();
-        }
+        tasks.close();
     }
 }
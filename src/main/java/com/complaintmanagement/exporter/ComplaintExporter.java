@@ -0,0 +1,166 @@
+package com.complaintmanagement.exporter;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.model.ComplaintStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams complaints and their response threads to a CSV or JSON Lines file.
+ * One scalar query joins complaints to their responses in complaint order and is read
+ * through a forward-only cursor on a StatelessSession, export.fetch.size rows per round
+ * trip. No entity is ever created or attached, and only the complaint being written is
+ * held in memory, so memory use is flat however many rows are exported. The file is
+ * written under a temporary name and moved into place once complete.
+ */
+public class ComplaintExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String SELECT =
+        "SELECT c.complaint_id, c.complaint_type, d.dept_name, c.complaint_title, c.complaint_descp, " +
+        "c.resolve_status, c.complaint_date, ci.citizen_username, " +
+        "r.id.response_id, a.authority_username, r.response, r.response_date " +
+        "FROM Complaint c JOIN c.department d JOIN c.citizen ci " +
+        "LEFT JOIN c.responses r LEFT JOIN r.authority a";
+
+    private final Supplier<EntityManagerFactory> emfSupplier;
+    private final int fetchSize;
+
+    public ComplaintExporter() {
+        this(DatabaseConfig::getEntityManagerFactory,
+            Integer.parseInt(DatabaseConfig.getSetting("export.fetch.size", "1000")));
+    }
+
+    public ComplaintExporter(Supplier<EntityManagerFactory> emfSupplier, int fetchSize) {
+        this.emfSupplier = emfSupplier;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Export the matching complaints to the file, in the format its name asks for.
+     * Runs on the calling thread.
+     */
+    public ExportReport export(ExportFilter filter, Path file) throws IOException {
+        EntityManagerFactory emf = emfSupplier.get();
+        if (emf == null) {
+            throw new IllegalStateException("Database not available");
+        }
+        long startedAt = System.nanoTime();
+        ExportFormat format = ExportFormat.forFile(file);
+        Path target = file.toAbsolutePath();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+        long complaints = 0;
+        long responses = 0;
+        try (StatelessSession session = emf.unwrap(SessionFactory.class).openStatelessSession();
+             ExportWriter writer = format.open(openWriter(partial, ExportFormat.isCompressed(file)));
+             ScrollableResults<Object[]> rows = query(session, filter).scroll(ScrollMode.FORWARD_ONLY)) {
+
+            ExportedComplaint current = null;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                Long complaintId = (Long) row[0];
+                if (current == null || !current.complaintId().equals(complaintId)) {
+                    if (current != null) {
+                        writer.write(current);
+                    }
+                    complaints++;
+                    current = new ExportedComplaint(complaintId, (String) row[1], (String) row[2],
+                        (String) row[3], (String) row[4], ((ComplaintStatus) row[5]).name(), (Date) row[6],
+                        (String) row[7], null);
+                }
+                if (row[8] != null) {
+                    responses++;
+                    current.responses().add(new ExportedComplaint.ExportedResponse(
+                        (Long) row[8], (String) row[9], (String) row[10], (Date) row[11]));
+                }
+            }
+            if (current != null) {
+                writer.write(current);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        moveIntoPlace(partial, target);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        return new ExportReport(target, complaints, responses, Files.size(target), millis);
+    }
+
+    private SelectionQuery<Object[]> query(StatelessSession session, ExportFilter filter) {
+        StringBuilder jpql = new StringBuilder(SELECT).append(" WHERE 1 = 1");
+        if (filter.deptId() != null) {
+            jpql.append(" AND d.dept_id = :deptId");
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND c.complaint_date >= :from");
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND c.complaint_date < :to");
+        }
+        if (filter.status() != null) {
+            jpql.append(" AND c.resolve_status = :status");
+        }
+        jpql.append(" ORDER BY c.complaint_id, r.response_date, r.id.response_id");
+
+        SelectionQuery<Object[]> query = session.createSelectionQuery(jpql.toString(), Object[].class)
+            .setFetchSize(fetchSize);
+        if (filter.deptId() != null) {
+            query.setParameter("deptId", filter.deptId());
+        }
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        return query;
+    }
+
+    /**
+     * Buffered UTF-8 writer over a file channel, gzip-compressed when requested
+     */
+    private static BufferedWriter openWriter(Path file, boolean compressed) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream out = Channels.newOutputStream(channel);
+        if (compressed) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static void moveIntoPlace(Path partial, Path target) throws IOException {
+        try {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.complaintmanagement.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 CSV, one line per response. The complaint columns repeat on every line of the
+ * complaint; a complaint without responses gets one line with the response columns empty.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private static final String HEADER = "complaint_id,complaint_type,department,complaint_title,complaint_descp,"
+        + "resolve_status,complaint_date,citizen_username,response_id,authority_username,response,response_date";
+
+    private final Writer out;
+
+    CsvExportWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(ExportedComplaint complaint) throws IOException {
+        if (complaint.responses().isEmpty()) {
+            writeComplaint(complaint);
+            field(null);
+            field(null);
+            field(null);
+            field(null);
+            out.write("\r\n");
+            return;
+        }
+        for (ExportedComplaint.ExportedResponse response : complaint.responses()) {
+            writeComplaint(complaint);
+            field(response.responseId());
+            field(response.authorityUsername());
+            field(response.text());
+            field(ExportWriter.formatDate(response.responseDate()));
+            out.write("\r\n");
+        }
+    }
+
+    private void writeComplaint(ExportedComplaint complaint) throws IOException {
+        value(complaint.complaintId() == null ? null : complaint.complaintId().toString());
+        field(complaint.complaintType());
+        field(complaint.department());
+        field(complaint.title());
+        field(complaint.description());
+        field(complaint.status());
+        field(ExportWriter.formatDate(complaint.complaintDate()));
+        field(complaint.citizenUsername());
+    }
+
+    private void field(Object value) throws IOException {
+        out.write(',');
+        value(value == null ? null : value.toString());
+    }
+
+    private void value(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.complaintmanagement.exporter;
+
+import com.complaintmanagement.model.ComplaintStatus;
+
+import java.util.Date;
+
+/**
+ * Which complaints to export. Null fields do not restrict the export.
+ *
+ * @param deptId department the complaints are routed to
+ * @param from   earliest complaint_date, inclusive
+ * @param to     latest complaint_date, exclusive
+ * @param status current status
+ */
+public record ExportFilter(Long deptId, Date from, Date to, ComplaintStatus status) {
+
+    /**
+     * Every complaint
+     */
+    public static ExportFilter all() {
+        return new ExportFilter(null, null, null, null);
+    }
+
+    /**
+     * Every complaint of one department
+     */
+    public static ExportFilter forDepartment(Long deptId) {
+        return new ExportFilter(deptId, null, null, null);
+    }
+}
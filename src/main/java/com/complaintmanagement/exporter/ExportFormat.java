@@ -0,0 +1,56 @@
+package com.complaintmanagement.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Output format of an export, chosen from the file name.
+ * A trailing .gz compresses the output.
+ */
+public enum ExportFormat {
+    /** One line per response; complaint columns repeat, complaints without responses get one line */
+    CSV(".csv"),
+    /** One JSON object per complaint with its responses as an array */
+    JSON_LINES(".jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Format for a file name such as complaints.csv, complaints.jsonl or complaints.ndjson.gz
+     */
+    public static ExportFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Unsupported export file type: " + file.getFileName()
+            + " (expected .csv, .jsonl or .ndjson, optionally .gz)");
+    }
+
+    /**
+     * True when the file name asks for gzip compression
+     */
+    public static boolean isCompressed(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    ExportWriter open(Writer out) throws IOException {
+        return this == CSV ? new CsvExportWriter(out) : new JsonLinesExportWriter(out);
+    }
+}
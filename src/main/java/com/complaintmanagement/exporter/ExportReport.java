@@ -0,0 +1,14 @@
+package com.complaintmanagement.exporter;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of an export.
+ *
+ * @param file       the file written
+ * @param complaints complaints exported
+ * @param responses  responses exported
+ * @param bytes      size of the file on disk
+ * @param millis     wall-clock duration
+ */
+public record ExportReport(Path file, long complaints, long responses, long bytes, long millis) {}
@@ -0,0 +1,23 @@
+package com.complaintmanagement.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Writes exported complaints in one format. Implementations stream straight to the
+ * underlying writer and keep no state between complaints.
+ */
+interface ExportWriter extends Closeable {
+
+    /** ISO-8601 with offset, the format ComplaintImporter reads back */
+    DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    void write(ExportedComplaint complaint) throws IOException;
+
+    static String formatDate(Date date) {
+        return date == null ? null : DATE_FORMAT.format(date.toInstant().atZone(ZoneId.systemDefault()));
+    }
+}
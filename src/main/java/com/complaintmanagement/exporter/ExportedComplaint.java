@@ -0,0 +1,26 @@
+package com.complaintmanagement.exporter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One complaint and its response thread as written to an export. Only the complaint
+ * currently being written is held in memory.
+ */
+record ExportedComplaint(Long complaintId, String complaintType, String department, String title,
+                         String description, String status, Date complaintDate, String citizenUsername,
+                         List<ExportedResponse> responses) {
+
+    ExportedComplaint {
+        responses = responses == null ? new ArrayList<>() : responses;
+    }
+
+    /**
+     * @param responseId        sequence-generated response id
+     * @param authorityUsername authority who responded
+     * @param text              response text
+     * @param responseDate      when the response was submitted
+     */
+    record ExportedResponse(Long responseId, String authorityUsername, String text, Date responseDate) {}
+}
@@ -0,0 +1,54 @@
+package com.complaintmanagement.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines: one object per complaint, with its responses nested as an array
+ */
+class JsonLinesExportWriter implements ExportWriter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator json;
+
+    JsonLinesExportWriter(Writer out) throws IOException {
+        this.json = JSON.createGenerator(out);
+        json.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void write(ExportedComplaint complaint) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("complaint_id", complaint.complaintId());
+        json.writeStringField("complaint_type", complaint.complaintType());
+        json.writeStringField("department", complaint.department());
+        json.writeStringField("complaint_title", complaint.title());
+        json.writeStringField("complaint_descp", complaint.description());
+        json.writeStringField("resolve_status", complaint.status());
+        json.writeStringField("complaint_date", ExportWriter.formatDate(complaint.complaintDate()));
+        json.writeStringField("citizen_username", complaint.citizenUsername());
+        json.writeArrayFieldStart("responses");
+        for (ExportedComplaint.ExportedResponse response : complaint.responses()) {
+            json.writeStartObject();
+            json.writeNumberField("response_id", response.responseId());
+            json.writeStringField("authority_username", response.authorityUsername());
+            json.writeStringField("response", response.text());
+            json.writeStringField("response_date", ExportWriter.formatDate(response.responseDate()));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // A final newline so the file is valid JSON Lines, then close the underlying writer
+        json.writeRaw('\n');
+        json.close();
+    }
+}
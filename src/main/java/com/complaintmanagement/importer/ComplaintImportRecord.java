@@ -0,0 +1,25 @@
+package com.complaintmanagement.importer;
+
+/**
+ * One complaint as read from an import file, before validation.
+ * Every field is the raw text from the file (null when the column or property is absent).
+ *
+ * @param row            1-based record number in the file, used in error reports
+ * @param citizenUsername username of the existing citizen who raised the complaint
+ * @param complaintType  one of the types in Complaint_Type_Route
+ * @param title          complaint title
+ * @param description    complaint description
+ * @param status         optional status name (UNREAD when blank)
+ * @param date           optional ISO-8601 date or date-time (import time when blank)
+ */
+public record ComplaintImportRecord(long row, String citizenUsername, String complaintType, String title,
+                                    String description, String status, String date) {
+
+    /** Field names, used as CSV header names and JSON property names */
+    static final String CITIZEN_USERNAME = "citizen_username";
+    static final String COMPLAINT_TYPE = "complaint_type";
+    static final String TITLE = "complaint_title";
+    static final String DESCRIPTION = "complaint_descp";
+    static final String STATUS = "resolve_status";
+    static final String DATE = "complaint_date";
+}
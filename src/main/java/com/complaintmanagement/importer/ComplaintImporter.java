@@ -0,0 +1,339 @@
+package com.complaintmanagement.importer;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.model.Citizen;
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.model.ComplaintStatus;
+import com.complaintmanagement.model.Department;
+import com.complaintmanagement.repository.StatusCounterRepository;
+import com.complaintmanagement.service.ComplaintRoutingTable;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulk loader for complaints collected offline (field camps, call centres).
+ * Records are streamed from the file in chunks of import.batch.size: each chunk is
+ * validated, its citizens are resolved with one query, its departments come from the
+ * in-memory routing table, and the valid rows are inserted through a StatelessSession
+ * as JDBC batches in a single transaction. Only one chunk is held at a time, so memory
+ * use does not grow with the file. A chunk the database rejects is retried row by row
+ * so the bad records can be reported and the rest still imported.
+ * The status counters are rebuilt once at the end instead of per row.
+ */
+public class ComplaintImporter {
+
+    static final int MAX_TITLE_LENGTH = 200;
+    static final int MIN_DESC_LENGTH = 20;
+    /** Complaint.complaint_descp is VARCHAR2(255) */
+    static final int MAX_DESC_LENGTH = 255;
+
+    private static final int MAX_REPORTED_PROBLEMS = 100;
+    private static final int MAX_CACHED_CITIZENS = 10_000;
+    private static final Long UNKNOWN_CITIZEN = -1L;
+
+    private final Supplier<EntityManagerFactory> emfSupplier;
+    private final ComplaintRoutingTable routingTable;
+    private final int batchSize;
+
+    /** Recently resolved usernames (including unknown ones), bounded so memory stays flat */
+    private final Map<String, Long> citizenIds = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_CACHED_CITIZENS;
+        }
+    };
+
+    public ComplaintImporter() {
+        this(DatabaseConfig::getEntityManagerFactory, ComplaintRoutingTable.shared(),
+            Integer.parseInt(DatabaseConfig.getSetting("import.batch.size", "500")));
+    }
+
+    public ComplaintImporter(Supplier<EntityManagerFactory> emfSupplier, ComplaintRoutingTable routingTable,
+                             int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.emfSupplier = emfSupplier;
+        this.routingTable = routingTable;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import a .csv, .json, .jsonl or .ndjson file (optionally gzipped)
+     */
+    public ImportReport importFile(Path file, ImportListener listener) throws IOException {
+        try (ComplaintRecordReader reader = ComplaintRecordReader.open(file)) {
+            return importFrom(reader, listener);
+        }
+    }
+
+    /**
+     * Import every record the reader produces. Runs on the calling thread.
+     */
+    public ImportReport importFrom(ComplaintRecordReader reader, ImportListener listener) throws IOException {
+        EntityManagerFactory emf = emfSupplier.get();
+        if (emf == null) {
+            throw new IllegalStateException("Database not available");
+        }
+        long startedAt = System.nanoTime();
+        // Fresh routes, so an import right after a routing change uses it
+        ComplaintRoutingTable.Routes routes = routingTable.reload().join();
+        Progress progress = new Progress(listener);
+
+        List<ComplaintImportRecord> chunk = new ArrayList<>(batchSize);
+        try (StatelessSession session = emf.unwrap(SessionFactory.class).openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            ComplaintImportRecord record;
+            while ((record = reader.next()) != null) {
+                progress.read++;
+                chunk.add(record);
+                if (chunk.size() == batchSize) {
+                    importChunk(session, chunk, routes, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(session, chunk, routes, progress);
+            }
+        } finally {
+            if (progress.imported > 0) {
+                new StatusCounterRepository(emfSupplier).rebuild().join();
+            }
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        return new ImportReport(progress.read, progress.imported, progress.rejected,
+            List.copyOf(progress.problems), millis);
+    }
+
+    private void importChunk(StatelessSession session, List<ComplaintImportRecord> chunk,
+                             ComplaintRoutingTable.Routes routes, Progress progress) {
+        resolveCitizens(session, chunk);
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        for (ComplaintImportRecord record : chunk) {
+            try {
+                valid.add(new PendingRow(record.row(), toComplaint(record, routes)));
+            } catch (IllegalArgumentException e) {
+                progress.reject(record.row(), e.getMessage());
+            }
+        }
+        if (!valid.isEmpty()) {
+            insert(session, valid, progress);
+        }
+        progress.chunkDone();
+    }
+
+    /**
+     * Insert the chunk as JDBC batches in one transaction, falling back to one row per transaction
+     */
+    private void insert(StatelessSession session, List<PendingRow> rows, Progress progress) {
+        Transaction tx = session.beginTransaction();
+        try {
+            for (PendingRow row : rows) {
+                session.insert(row.complaint());
+            }
+            tx.commit();
+            progress.imported += rows.size();
+            return;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            System.err.println("Import batch failed, retrying row by row: " + rootMessage(e));
+        }
+        for (PendingRow row : rows) {
+            row.complaint().setComplaint_id(null);
+            tx = session.beginTransaction();
+            try {
+                session.insert(row.complaint());
+                tx.commit();
+                progress.imported++;
+            } catch (RuntimeException e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                progress.reject(row.row(), rootMessage(e));
+            }
+        }
+    }
+
+    /**
+     * Look up the ids of the chunk's usernames not already cached, with one IN query
+     */
+    private void resolveCitizens(StatelessSession session, List<ComplaintImportRecord> chunk) {
+        Set<String> missing = new HashSet<>();
+        for (ComplaintImportRecord record : chunk) {
+            String username = trimToNull(record.citizenUsername());
+            if (username != null && !citizenIds.containsKey(username)) {
+                missing.add(username);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        // Oracle allows at most 1000 expressions in an IN list
+        List<String> usernames = new ArrayList<>(missing);
+        for (int from = 0; from < usernames.size(); from += 1000) {
+            List<String> slice = usernames.subList(from, Math.min(from + 1000, usernames.size()));
+            session.createQuery(
+                    "SELECT c.citizen_username, c.citizen_id FROM Citizen c WHERE c.citizen_username IN :usernames",
+                    Object[].class)
+                .setParameter("usernames", slice)
+                .getResultList()
+                .forEach(row -> citizenIds.put((String) row[0], (Long) row[1]));
+        }
+        for (String username : missing) {
+            citizenIds.putIfAbsent(username, UNKNOWN_CITIZEN);
+        }
+    }
+
+    /**
+     * Validate a record and build the complaint to insert
+     * @throws IllegalArgumentException with a user-facing message when the record is invalid
+     */
+    private Complaint toComplaint(ComplaintImportRecord record, ComplaintRoutingTable.Routes routes) {
+        String username = require(record.citizenUsername(), ComplaintImportRecord.CITIZEN_USERNAME);
+        Long citizenId = citizenIds.get(username);
+        if (citizenId == null || UNKNOWN_CITIZEN.equals(citizenId)) {
+            throw new IllegalArgumentException("Unknown citizen '" + username + "'");
+        }
+
+        String type = require(record.complaintType(), ComplaintImportRecord.COMPLAINT_TYPE);
+        int typeId = routes.typeId(type);
+        if (typeId == ComplaintRoutingTable.Routes.UNKNOWN_TYPE) {
+            throw new IllegalArgumentException("Unknown complaint type '" + type + "'");
+        }
+        Department department = routes.departmentFor(typeId);
+        if (department == null) {
+            throw new IllegalArgumentException("No department route for complaint type '" + type + "'");
+        }
+
+        String title = require(record.title(), ComplaintImportRecord.TITLE);
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Title must be at most " + MAX_TITLE_LENGTH + " characters");
+        }
+        String description = require(record.description(), ComplaintImportRecord.DESCRIPTION);
+        if (description.length() < MIN_DESC_LENGTH) {
+            throw new IllegalArgumentException("Description must be at least " + MIN_DESC_LENGTH + " characters");
+        }
+        if (description.length() > MAX_DESC_LENGTH) {
+            throw new IllegalArgumentException("Description must be at most " + MAX_DESC_LENGTH + " characters");
+        }
+
+        Citizen citizen = new Citizen();
+        citizen.setCitizen_id(citizenId);
+        return new Complaint(type, department, title, description,
+            parseStatus(record.status()), parseDate(record.date()), citizen);
+    }
+
+    private static ComplaintStatus parseStatus(String value) {
+        String status = trimToNull(value);
+        if (status == null) {
+            return ComplaintStatus.UNREAD;
+        }
+        try {
+            return ComplaintStatus.valueOf(status.toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status '" + status + "'");
+        }
+    }
+
+    /**
+     * Accepts 2025-10-19, 2025-10-19T14:30[:00], 2025-10-19 14:30[:00] or an ISO offset date-time
+     */
+    private static Date parseDate(String value) {
+        String text = trimToNull(value);
+        if (text == null) {
+            return new Date();
+        }
+        Date date;
+        try {
+            if (text.length() == 10) {
+                date = Date.from(LocalDate.parse(text).atStartOfDay(ZoneId.systemDefault()).toInstant());
+            } else if (text.endsWith("Z") || text.matches(".*[+-]\\d\\d:\\d\\d$")) {
+                date = Date.from(OffsetDateTime.parse(text.replace(' ', 'T')).toInstant());
+            } else {
+                date = Date.from(LocalDateTime.parse(text.replace(' ', 'T')).atZone(ZoneId.systemDefault()).toInstant());
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid complaint_date '" + text + "'");
+        }
+        if (date.after(new Date())) {
+            throw new IllegalArgumentException("complaint_date " + text + " is in the future");
+        }
+        return date;
+    }
+
+    private static String require(String value, String field) {
+        String text = trimToNull(value);
+        if (text == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return text;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage().trim() : cause.getClass().getSimpleName();
+    }
+
+    private record PendingRow(long row, Complaint complaint) {}
+
+    /**
+     * Running totals of one import
+     */
+    private static final class Progress {
+        private final ImportListener listener;
+        private final List<ImportProblem> problems = new ArrayList<>();
+        private long read;
+        private long imported;
+        private long rejected;
+
+        Progress(ImportListener listener) {
+            this.listener = listener;
+        }
+
+        void reject(long row, String message) {
+            rejected++;
+            ImportProblem problem = new ImportProblem(row, message);
+            if (problems.size() < MAX_REPORTED_PROBLEMS) {
+                problems.add(problem);
+            }
+            listener.onProblem(problem);
+        }
+
+        void chunkDone() {
+            listener.onProgress(read, imported, rejected);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.complaintmanagement.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streaming source of import records. Readers hold at most one record in memory,
+ * so files of any size can be imported.
+ */
+public interface ComplaintRecordReader extends Closeable {
+
+    /**
+     * The next record, or null at the end of the file
+     * @throws ImportFormatException when the file itself is malformed (not just one record)
+     */
+    ComplaintImportRecord next() throws IOException;
+
+    /**
+     * Open a reader chosen by file extension: .csv, or .json / .jsonl / .ndjson,
+     * optionally followed by .gz
+     */
+    static ComplaintRecordReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        InputStream input = Files.newInputStream(file);
+        if (name.endsWith(".gz")) {
+            input = new GZIPInputStream(input, 64 * 1024);
+            name = name.substring(0, name.length() - 3);
+        }
+        try {
+            if (name.endsWith(".csv")) {
+                return new CsvComplaintReader(new BufferedReader(
+                    new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024));
+            }
+            if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return new JsonComplaintReader(input);
+            }
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+        input.close();
+        throw new IllegalArgumentException("Unsupported import file type: " + file.getFileName()
+            + " (expected .csv, .json, .jsonl or .ndjson)");
+    }
+}
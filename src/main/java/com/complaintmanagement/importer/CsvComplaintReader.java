@@ -0,0 +1,137 @@
+package com.complaintmanagement.importer;
+
+import java.io.IOException;
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads complaints from RFC 4180 CSV. The first line is a header naming the columns
+ * (citizen_username, complaint_type, complaint_title, complaint_descp and optionally
+ * resolve_status, complaint_date) in any order; quoted fields may contain commas,
+ * doubled quotes and line breaks. Blank lines are skipped.
+ */
+class CsvComplaintReader implements ComplaintRecordReader {
+
+    private final BufferedReader in;
+    private final int citizenColumn;
+    private final int typeColumn;
+    private final int titleColumn;
+    private final int descriptionColumn;
+    private final int statusColumn;
+    private final int dateColumn;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long row;
+    private boolean eof;
+
+    CsvComplaintReader(BufferedReader in) throws IOException {
+        this.in = in;
+        if (!readFields()) {
+            throw new ImportFormatException("CSV file is empty - expected a header line");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            header.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        citizenColumn = requireColumn(header, ComplaintImportRecord.CITIZEN_USERNAME);
+        typeColumn = requireColumn(header, ComplaintImportRecord.COMPLAINT_TYPE);
+        titleColumn = requireColumn(header, ComplaintImportRecord.TITLE);
+        descriptionColumn = requireColumn(header, ComplaintImportRecord.DESCRIPTION);
+        statusColumn = header.getOrDefault(ComplaintImportRecord.STATUS, -1);
+        dateColumn = header.getOrDefault(ComplaintImportRecord.DATE, -1);
+    }
+
+    private static int requireColumn(Map<String, Integer> header, String name) throws ImportFormatException {
+        Integer index = header.get(name);
+        if (index == null) {
+            throw new ImportFormatException("CSV header is missing column '" + name + "'");
+        }
+        return index;
+    }
+
+    @Override
+    public ComplaintImportRecord next() throws IOException {
+        while (readFields()) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            return new ComplaintImportRecord(row, column(citizenColumn), column(typeColumn),
+                column(titleColumn), column(descriptionColumn), column(statusColumn), column(dateColumn));
+        }
+        return null;
+    }
+
+    private String column(int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * Read one logical CSV line into {@link #fields}; false at end of input
+     */
+    private boolean readFields() throws IOException {
+        fields.clear();
+        if (eof) {
+            return false;
+        }
+        field.setLength(0);
+        long startLine = line;
+        boolean quoted = false;
+        boolean any = false;
+        while (true) {
+            int c = in.read();
+            if (c == -1) {
+                eof = true;
+                if (quoted) {
+                    throw new ImportFormatException("Unterminated quoted field starting on line " + startLine);
+                }
+                if (!any && field.isEmpty() && fields.isEmpty()) {
+                    return false;
+                }
+                fields.add(field.toString());
+                return true;
+            }
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int following = in.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            in.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.complaintmanagement.importer;
+
+import java.io.IOException;
+
+/**
+ * The import file cannot be read any further (bad header, unterminated quote, invalid JSON)
+ */
+public class ImportFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImportFormatException(String message) {
+        super(message);
+    }
+
+    public ImportFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
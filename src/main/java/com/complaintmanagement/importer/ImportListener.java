@@ -0,0 +1,17 @@
+package com.complaintmanagement.importer;
+
+/**
+ * Receives progress from a running import. Called on the importing thread.
+ */
+public interface ImportListener {
+
+    /**
+     * Called after each committed chunk
+     */
+    default void onProgress(long read, long imported, long rejected) {}
+
+    /**
+     * Called for every rejected record
+     */
+    default void onProblem(ImportProblem problem) {}
+}
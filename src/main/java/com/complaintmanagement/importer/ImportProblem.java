@@ -0,0 +1,15 @@
+package com.complaintmanagement.importer;
+
+/**
+ * A record that was rejected, with the reason
+ *
+ * @param row     1-based record number in the import file
+ * @param message why the record was not imported
+ */
+public record ImportProblem(long row, String message) {
+
+    @Override
+    public String toString() {
+        return "Row " + row + ": " + message;
+    }
+}
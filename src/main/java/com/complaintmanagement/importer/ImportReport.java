@@ -0,0 +1,22 @@
+package com.complaintmanagement.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of an import.
+ *
+ * @param read     records read from the file
+ * @param imported complaints inserted
+ * @param rejected records rejected by validation or by the database
+ * @param problems the first rejected records (capped so reports stay small; listeners see all of them)
+ * @param millis   wall-clock duration
+ */
+public record ImportReport(long read, long imported, long rejected, List<ImportProblem> problems, long millis) {
+
+    /**
+     * Inserted complaints per second
+     */
+    public long rowsPerSecond() {
+        return millis == 0 ? imported : imported * 1000 / millis;
+    }
+}
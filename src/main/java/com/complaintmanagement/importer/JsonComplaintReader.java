@@ -0,0 +1,88 @@
+package com.complaintmanagement.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads complaints from JSON with a streaming parser: either one top-level array of
+ * objects or a sequence of objects (JSON Lines). Property names match the CSV header
+ * names; unknown properties are ignored.
+ */
+class JsonComplaintReader implements ComplaintRecordReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonParser parser;
+    private boolean inArray;
+    private JsonToken pending;
+    private long row;
+
+    JsonComplaintReader(InputStream in) throws IOException {
+        this.parser = JSON.createParser(in);
+        JsonToken first = nextToken();
+        if (first == JsonToken.START_ARRAY) {
+            inArray = true;
+        } else {
+            // JSON Lines: the parser is already on the first object
+            pending = first;
+        }
+    }
+
+    @Override
+    public ComplaintImportRecord next() throws IOException {
+        JsonToken token = pending != null ? pending : nextToken();
+        pending = null;
+        if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new ImportFormatException("Expected a complaint object at " + location() + " but found " + token);
+        }
+        String citizenUsername = null, complaintType = null, title = null, description = null, status = null, date = null;
+        while ((token = nextToken()) == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = nextToken();
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            String text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            switch (name) {
+                case ComplaintImportRecord.CITIZEN_USERNAME -> citizenUsername = text;
+                case ComplaintImportRecord.COMPLAINT_TYPE -> complaintType = text;
+                case ComplaintImportRecord.TITLE -> title = text;
+                case ComplaintImportRecord.DESCRIPTION -> description = text;
+                case ComplaintImportRecord.STATUS -> status = text;
+                case ComplaintImportRecord.DATE -> date = text;
+                default -> { }
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new ImportFormatException("Unterminated complaint object at " + location());
+        }
+        row++;
+        return new ComplaintImportRecord(row, citizenUsername, complaintType, title, description, status, date);
+    }
+
+    private JsonToken nextToken() throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new ImportFormatException("Invalid JSON at " + location() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private String location() {
+        return "line " + parser.currentLocation().getLineNr() + ", column " + parser.currentLocation().getColumnNr();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
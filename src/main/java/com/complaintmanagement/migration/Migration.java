@@ -0,0 +1,11 @@
+package com.complaintmanagement.migration;
+
+import java.util.List;
+
+/**
+ * One versioned SQL script from db/migration, split into executable statements.
+ * The checksum covers the whole script, so any edit after release is detected.
+ */
+public record Migration(int version, String description, String script, String checksum,
+                        List<String> statements) {
+}
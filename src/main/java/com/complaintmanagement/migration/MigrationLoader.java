@@ -0,0 +1,115 @@
+package com.complaintmanagement.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the migrations listed in db/migration/migrations.list from the classpath.
+ * Scripts are named V&lt;version&gt;__&lt;description&gt;.sql. Statements end with ';' at the end
+ * of a line; PL/SQL blocks (DECLARE/BEGIN) end with a line holding only '/'. COMMIT
+ * statements are dropped because every migration runs in its own transaction.
+ */
+final class MigrationLoader {
+
+    private static final String LOCATION = "db/migration/";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private MigrationLoader() {}
+
+    /**
+     * All migrations in version order
+     */
+    static List<Migration> load() {
+        List<Migration> migrations = new ArrayList<>();
+        for (String line : read("migrations.list").split("\n")) {
+            String script = line.trim();
+            if (script.isEmpty() || script.startsWith("#")) {
+                continue;
+            }
+            Matcher name = SCRIPT_NAME.matcher(script);
+            if (!name.matches()) {
+                throw new IllegalStateException("Invalid migration script name: " + script);
+            }
+            int version = Integer.parseInt(name.group(1));
+            if (!migrations.isEmpty() && migrations.get(migrations.size() - 1).version() >= version) {
+                throw new IllegalStateException("Migrations out of order at " + script);
+            }
+            String sql = read(script);
+            migrations.add(new Migration(version, name.group(2).replace('_', ' '), script,
+                                         checksum(sql), split(sql)));
+        }
+        return List.copyOf(migrations);
+    }
+
+    static List<String> split(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean plsql = false;
+        for (String line : sql.split("\n")) {
+            String trimmed = line.trim();
+            if (current.isEmpty()) {
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                String upper = trimmed.toUpperCase(Locale.ROOT);
+                plsql = upper.startsWith("DECLARE") || upper.startsWith("BEGIN");
+            }
+            if (plsql) {
+                if (trimmed.equals("/")) {
+                    add(statements, current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(line).append('\n');
+                }
+            } else if (!trimmed.startsWith("--")) {
+                current.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    String statement = current.toString().trim();
+                    add(statements, statement.substring(0, statement.length() - 1));
+                    current.setLength(0);
+                }
+            }
+        }
+        if (!current.toString().isBlank()) {
+            throw new IllegalStateException("Unterminated statement: " + current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static void add(List<String> statements, String statement) {
+        String trimmed = statement.trim();
+        if (!trimmed.isEmpty() && !trimmed.equalsIgnoreCase("COMMIT")) {
+            statements.add(trimmed);
+        }
+    }
+
+    private static String read(String resource) {
+        try (InputStream input = MigrationLoader.class.getClassLoader().getResourceAsStream(LOCATION + resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing migration resource " + LOCATION + resource);
+            }
+            // Normalize line endings so the checksum does not depend on the checkout
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + LOCATION + resource, e);
+        }
+    }
+
+    private static String checksum(String sql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sql.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
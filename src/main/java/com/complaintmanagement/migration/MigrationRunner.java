@@ -0,0 +1,218 @@
+package com.complaintmanagement.migration;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jdbc.ReturningWork;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Applies the versioned scripts from db/migration and records them in Schema_Version.
+ * Startup only calls {@link #validate()}, which is a single query on Schema_Version;
+ * {@link #migrate()} and {@link #baseline(int)} are run from SchemaMigrationTool.
+ */
+public class MigrationRunner {
+
+    /**
+     * Last version a database built from sql_scripts matches; later versions exist only as
+     * migrations, so baselining such a database must stop here and let migrate apply the rest
+     */
+    public static final int SCRIPTS_VERSION = 2;
+
+    private static final int ORA_TABLE_NOT_FOUND = 942;
+
+    private static final String CREATE_VERSION_TABLE =
+        "CREATE TABLE Schema_Version (" +
+        "version NUMBER(10) NOT NULL, " +
+        "description VARCHAR2(200 CHAR) NOT NULL, " +
+        "script VARCHAR2(200 CHAR) NOT NULL, " +
+        "checksum VARCHAR2(64 CHAR) NOT NULL, " +
+        "installed_on TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL, " +
+        "execution_ms NUMBER(10) NOT NULL, " +
+        "baseline NUMBER(1) DEFAULT 0 NOT NULL, " +
+        "CONSTRAINT pk_schema_version PRIMARY KEY (version))";
+
+    private static final String INSERT_VERSION =
+        "INSERT INTO Schema_Version (version, description, script, checksum, execution_ms, baseline) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final Supplier<EntityManagerFactory> emfSupplier;
+    private final List<Migration> migrations;
+
+    public MigrationRunner() {
+        this(DatabaseConfig::getEntityManagerFactory, MigrationLoader.load());
+    }
+
+    public MigrationRunner(Supplier<EntityManagerFactory> emfSupplier, List<Migration> migrations) {
+        this.emfSupplier = emfSupplier;
+        this.migrations = migrations;
+    }
+
+    /**
+     * Migrations shipped with this build, in version order
+     */
+    public List<Migration> getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * Compare Schema_Version with the shipped migrations without changing anything
+     */
+    public SchemaStatus validate() {
+        return withConnection(this::validate);
+    }
+
+    /**
+     * Apply every pending migration in order, each in its own transaction.
+     * Refuses to run if an applied script was changed. Note that Oracle commits DDL
+     * implicitly, so a migration failing halfway must be repaired by hand.
+     *
+     * @return the migrations that were applied
+     */
+    public List<Migration> migrate() {
+        return withConnection(connection -> {
+            ensureVersionTable(connection);
+            SchemaStatus status = validate(connection);
+            if (!status.problems().isEmpty()) {
+                throw new IllegalStateException("Schema validation failed: " + String.join("; ", status.problems()));
+            }
+            List<Migration> applied = new ArrayList<>();
+            for (Migration migration : status.pending()) {
+                System.out.println("Applying V" + migration.version() + " - " + migration.description() + "...");
+                long start = System.currentTimeMillis();
+                try (Statement statement = connection.createStatement()) {
+                    for (String sql : migration.statements()) {
+                        try {
+                            statement.execute(sql);
+                        } catch (SQLException e) {
+                            throw new SQLException("V" + migration.version() + " failed at: " + sql + " - " + e.getMessage(), e);
+                        }
+                    }
+                    record(connection, migration, System.currentTimeMillis() - start, false);
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+                applied.add(migration);
+                System.out.println("Applied V" + migration.version() + " in " + (System.currentTimeMillis() - start) + "ms");
+            }
+            return applied;
+        });
+    }
+
+    /**
+     * Record migrations up to the given version as applied without running them.
+     * Used once for databases that were built with hbm2ddl and the sql_scripts.
+     *
+     * @return number of versions recorded
+     */
+    public int baseline(int version) {
+        return withConnection(connection -> {
+            ensureVersionTable(connection);
+            if (!readApplied(connection).isEmpty()) {
+                throw new IllegalStateException("Schema_Version is not empty - baseline only applies to unmanaged databases");
+            }
+            int recorded = 0;
+            for (Migration migration : migrations) {
+                if (migration.version() <= version) {
+                    record(connection, migration, 0, true);
+                    recorded++;
+                }
+            }
+            connection.commit();
+            return recorded;
+        });
+    }
+
+    private SchemaStatus validate(Connection connection) throws SQLException {
+        List<SchemaStatus.AppliedMigration> applied;
+        try {
+            applied = readApplied(connection);
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ORA_TABLE_NOT_FOUND) {
+                return new SchemaStatus(false, List.of(), migrations,
+                    List.of("Schema_Version table not found - run 'migrate' on a new database or 'baseline' on an existing one"));
+            }
+            throw e;
+        }
+
+        Map<Integer, Migration> byVersion = new HashMap<>();
+        migrations.forEach(migration -> byVersion.put(migration.version(), migration));
+        List<String> problems = new ArrayList<>();
+        for (SchemaStatus.AppliedMigration row : applied) {
+            Migration migration = byVersion.remove(row.version());
+            if (migration == null) {
+                problems.add("V" + row.version() + " is applied but unknown to this build (database is newer?)");
+            } else if (!migration.checksum().equals(row.checksum())) {
+                problems.add("V" + row.version() + " (" + migration.script() + ") was changed after it was applied");
+            }
+        }
+        List<Migration> pending = migrations.stream()
+            .filter(migration -> byVersion.containsKey(migration.version()))
+            .toList();
+        return new SchemaStatus(true, applied, pending, problems);
+    }
+
+    private static List<SchemaStatus.AppliedMigration> readApplied(Connection connection) throws SQLException {
+        List<SchemaStatus.AppliedMigration> applied = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                 "SELECT version, description, checksum, installed_on, baseline FROM Schema_Version ORDER BY version")) {
+            while (rows.next()) {
+                applied.add(new SchemaStatus.AppliedMigration(rows.getInt(1), rows.getString(2), rows.getString(3),
+                                                              rows.getTimestamp(4), rows.getInt(5) == 1));
+            }
+        }
+        return applied;
+    }
+
+    private static void ensureVersionTable(Connection connection) throws SQLException {
+        try (PreparedStatement check = connection.prepareStatement(
+                "SELECT COUNT(*) FROM user_tables WHERE table_name = 'SCHEMA_VERSION'");
+             ResultSet result = check.executeQuery()) {
+            result.next();
+            if (result.getInt(1) > 0) {
+                return;
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_VERSION_TABLE);
+        }
+        System.out.println("Created Schema_Version table");
+    }
+
+    private static void record(Connection connection, Migration migration, long executionMs, boolean baseline)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_VERSION)) {
+            insert.setInt(1, migration.version());
+            insert.setString(2, migration.description());
+            insert.setString(3, migration.script());
+            insert.setString(4, migration.checksum());
+            insert.setLong(5, executionMs);
+            insert.setInt(6, baseline ? 1 : 0);
+            insert.executeUpdate();
+        }
+    }
+
+    private <T> T withConnection(ReturningWork<T> work) {
+        EntityManagerFactory emf = emfSupplier.get();
+        if (emf == null) {
+            throw new IllegalStateException("Database not available");
+        }
+        try (Session session = emf.unwrap(SessionFactory.class).openSession()) {
+            return session.doReturningWork(work);
+        }
+    }
+}
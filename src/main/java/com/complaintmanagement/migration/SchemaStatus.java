@@ -0,0 +1,29 @@
+package com.complaintmanagement.migration;
+
+import java.util.List;
+
+/**
+ * State of the connected schema compared with the migrations in this build.
+ * managed is false when the Schema_Version table does not exist yet.
+ */
+public record SchemaStatus(boolean managed, List<AppliedMigration> applied, List<Migration> pending,
+                           List<String> problems) {
+
+    /**
+     * Row of the Schema_Version table
+     */
+    public record AppliedMigration(int version, String description, String checksum,
+                                   java.sql.Timestamp installedOn, boolean baseline) {
+    }
+
+    /**
+     * True when every migration is applied unchanged and nothing unknown is recorded
+     */
+    public boolean isCurrent() {
+        return managed && pending.isEmpty() && problems.isEmpty();
+    }
+
+    public int currentVersion() {
+        return applied.isEmpty() ? 0 : applied.get(applied.size() - 1).version();
+    }
+}
@@ -1,15 +1,26 @@
 package com.complaintmanagement.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.util.List;
 
 @Entity
 @Table(name = "Authority")
+@BatchSize(size = 50)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authority")
+@NaturalIdCache(region = "authority-natural-id")
 public class Authority {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authority_seq")
+    @SequenceGenerator(name = "authority_seq", sequenceName = "Authority_SEQ", allocationSize = 50)
     private Long authority_id;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String authority_username;
     
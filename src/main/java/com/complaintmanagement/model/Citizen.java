@@ -1,13 +1,16 @@
 package com.complaintmanagement.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.List;
 
 @Entity
 @Table(name = "Citizen")
+@BatchSize(size = 50)
 public class Citizen {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "citizen_seq")
+    @SequenceGenerator(name = "citizen_seq", sequenceName = "Citizen_SEQ", allocationSize = 50)
     private Long citizen_id;
 
     @Column(unique = true, nullable = false)
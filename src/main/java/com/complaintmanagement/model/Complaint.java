@@ -5,10 +5,26 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "Complaint")
+@Table(name = "Complaint", indexes = {
+    // Citizen dashboard: recent complaints of one citizen
+    @Index(name = "idx_complaint_citizen_date", columnList = "citizen_id, complaint_date"),
+    // Authority dashboard: department page in exactly the page order, so the first page is a range scan
+    @Index(name = "idx_complaint_dept_rank_date",
+           columnList = "dept_id, status_rank, complaint_date DESC, complaint_id DESC"),
+    // Complaints linked to an original as near-duplicates
+    @Index(name = "idx_complaint_duplicate_of", columnList = "duplicate_of")
+})
+@NamedEntityGraph(name = Complaint.WITH_CITIZEN, attributeNodes = {
+    @NamedAttributeNode("department"),
+    @NamedAttributeNode("citizen")
+})
 public class Complaint {
+    /** Entity graph loading the complaint together with its department and citizen */
+    public static final String WITH_CITIZEN = "Complaint.withCitizen";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "complaint_seq")
+    @SequenceGenerator(name = "complaint_seq", sequenceName = "Complaint_SEQ", allocationSize = 50)
     private Long complaint_id;
     
     private String complaint_type;
@@ -24,6 +40,10 @@ public class Complaint {
     @Column(nullable = false)
     private ComplaintStatus resolve_status;
     
+    // Copy of resolve_status.getRank() so the authority list can sort off an index
+    @Column(nullable = false)
+    private Integer status_rank;
+    
     @Temporal(TemporalType.TIMESTAMP)
     private Date complaint_date;
     
@@ -33,6 +53,16 @@ public class Complaint {
     
     @OneToMany(mappedBy = "complaint", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Response> responses;
+    
+    // Open complaint this one was filed as a near-duplicate of, if the citizen linked it
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "duplicate_of")
+    private Complaint duplicate_of;
+    
+    // Optimistic lock; bumped by every status transition
+    @Version
+    @Column(nullable = false, columnDefinition = "NUMBER(19) DEFAULT 0")
+    private Long version;
 
     public Complaint() {}
 
@@ -42,6 +72,7 @@ public class Complaint {
         this.complaint_title = complaint_title;
         this.complaint_descp = complaint_descp;
         this.resolve_status = resolve_status;
+        this.status_rank = resolve_status == null ? null : resolve_status.getRank();
         this.complaint_date = complaint_date;
         this.citizen = citizen;
     }
@@ -93,6 +124,18 @@ public class Complaint {
     
     public void setResolve_status(ComplaintStatus resolve_status) { 
         this.resolve_status = resolve_status; 
+        this.status_rank = resolve_status == null ? null : resolve_status.getRank();
+    }
+    
+    public Integer getStatus_rank() { 
+        return status_rank; 
+    }
+    
+    // Keep status_rank in step with resolve_status however the status was assigned
+    @PrePersist
+    @PreUpdate
+    void syncStatusRank() { 
+        setResolve_status(resolve_status); 
     }
     
     public Date getComplaint_date() { 
@@ -118,4 +161,20 @@ public class Complaint {
     public void setResponses(List<Response> responses) { 
         this.responses = responses; 
     }
+    
+    public Complaint getDuplicate_of() { 
+        return duplicate_of; 
+    }
+    
+    public void setDuplicate_of(Complaint duplicate_of) { 
+        this.duplicate_of = duplicate_of; 
+    }
+    
+    public Long getVersion() { 
+        return version; 
+    }
+    
+    public void setVersion(Long version) { 
+        this.version = version; 
+    }
 }
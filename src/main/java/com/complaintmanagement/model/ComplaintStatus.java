@@ -1,21 +1,30 @@
 package com.complaintmanagement.model;
 
 public enum ComplaintStatus {
-    UNREAD("Unread"),
-    READ("Read"),
-    IN_PROGRESS("In Progress"),
-    CLOSED("Closed");
+    UNREAD("Unread", 1),
+    READ("Read", 2),
+    IN_PROGRESS("In Progress", 3),
+    CLOSED("Closed", 4);
     
     private final String displayName;
+    private final int rank;
     
-    ComplaintStatus(String displayName) {
+    ComplaintStatus(String displayName, int rank) {
         this.displayName = displayName;
+        this.rank = rank;
     }
     
     public String getDisplayName() {
         return displayName;
     }
     
+    /**
+     * Sort position in the authority complaint list (stored as Complaint.status_rank)
+     */
+    public int getRank() {
+        return rank;
+    }
+    
     @Override
     public String toString() {
         return displayName;
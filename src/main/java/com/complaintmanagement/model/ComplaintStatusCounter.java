@@ -0,0 +1,31 @@
+package com.complaintmanagement.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Materialized number of complaints per (scope, scope id, status).
+ * Maintained in the same transaction as every complaint insert and status
+ * transition so dashboards can read their statistics without scanning Complaint.
+ */
+@Entity
+@Table(name = "Complaint_Status_Counter")
+public class ComplaintStatusCounter {
+    @EmbeddedId
+    private ComplaintStatusCounterId id;
+    
+    @Column(nullable = false)
+    private Long complaint_count;
+    
+    public ComplaintStatusCounter() {}
+    
+    public ComplaintStatusCounter(ComplaintStatusCounterId id, Long complaint_count) {
+        this.id = id;
+        this.complaint_count = complaint_count;
+    }
+    // Getters and setters
+    public ComplaintStatusCounterId getId() { return id; }
+    public void setId(ComplaintStatusCounterId id) { this.id = id; }
+    
+    public Long getComplaint_count() { return complaint_count; }
+    public void setComplaint_count(Long complaint_count) { this.complaint_count = complaint_count; }
+}
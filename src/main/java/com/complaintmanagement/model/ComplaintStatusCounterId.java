@@ -0,0 +1,47 @@
+package com.complaintmanagement.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class ComplaintStatusCounterId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_scope", nullable = false)
+    private StatusScope counter_scope;
+    @Column(name = "scope_id", nullable = false)
+    private Long scope_id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolve_status", nullable = false)
+    private ComplaintStatus resolve_status;
+    public ComplaintStatusCounterId() {}
+    public ComplaintStatusCounterId(StatusScope counter_scope, Long scope_id, ComplaintStatus resolve_status) {
+        this.counter_scope = counter_scope;
+        this.scope_id = scope_id;
+        this.resolve_status = resolve_status;
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ComplaintStatusCounterId that = (ComplaintStatusCounterId) o;
+        return counter_scope == that.counter_scope
+            && Objects.equals(scope_id, that.scope_id)
+            && resolve_status == that.resolve_status;
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(counter_scope, scope_id, resolve_status);
+    }
+    // getters & setters
+    public StatusScope getCounter_scope() { return counter_scope; }
+    public void setCounter_scope(StatusScope counter_scope) { this.counter_scope = counter_scope; }
+    
+    public Long getScope_id() { return scope_id; }
+    public void setScope_id(Long scope_id) { this.scope_id = scope_id; }
+    
+    public ComplaintStatus getResolve_status() { return resolve_status; }
+    public void setResolve_status(ComplaintStatus resolve_status) { this.resolve_status = resolve_status; }
+}
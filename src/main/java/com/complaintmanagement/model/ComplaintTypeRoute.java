@@ -0,0 +1,38 @@
+package com.complaintmanagement.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Routing rule assigning every complaint of a type to one department.
+ * display_order is the order the types are offered on the registration form.
+ */
+@Entity
+@Table(name = "Complaint_Type_Route")
+public class ComplaintTypeRoute {
+    @Id
+    private String complaint_type;
+    
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "dept_id", nullable = false)
+    private Department department;
+    
+    @Column(nullable = false)
+    private Integer display_order;
+    
+    public ComplaintTypeRoute() {}
+    
+    public ComplaintTypeRoute(String complaint_type, Department department, Integer display_order) {
+        this.complaint_type = complaint_type;
+        this.department = department;
+        this.display_order = display_order;
+    }
+    // Getters and setters
+    public String getComplaint_type() { return complaint_type; }
+    public void setComplaint_type(String complaint_type) { this.complaint_type = complaint_type; }
+    
+    public Department getDepartment() { return department; }
+    public void setDepartment(Department department) { this.department = department; }
+    
+    public Integer getDisplay_order() { return display_order; }
+    public void setDisplay_order(Integer display_order) { this.display_order = display_order; }
+}
@@ -1,15 +1,24 @@
 package com.complaintmanagement.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.util.List;
 
 @Entity
 @Table(name = "Department")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
+@NaturalIdCache(region = "department-natural-id")
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "Department_SEQ", allocationSize = 50)
     private Long dept_id;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String dept_name;
     
@@ -4,8 +4,17 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "Response")
+@Table(name = "Response", indexes = {
+    // Complaint screens: responses of one complaint in date order
+    @Index(name = "idx_response_complaint_date", columnList = "complaint_id, response_date")
+})
+@NamedEntityGraph(name = Response.WITH_AUTHORITY,
+    attributeNodes = @NamedAttributeNode(value = "authority", subgraph = "authority"),
+    subgraphs = @NamedSubgraph(name = "authority", attributeNodes = @NamedAttributeNode("department")))
 public class Response {
+    /** Entity graph loading the response together with its authority */
+    public static final String WITH_AUTHORITY = "Response.withAuthority";
+
     @EmbeddedId
     private ResponseId id;
     private String response;
@@ -0,0 +1,9 @@
+package com.complaintmanagement.model;
+
+/**
+ * Scope of a materialized complaint status counter
+ */
+public enum StatusScope {
+    CITIZEN,
+    DEPARTMENT
+}
@@ -0,0 +1,26 @@
+package com.complaintmanagement.repository;
+
+/**
+ * A logged-in account: which table it lives in, its id there and the names the screens show.
+ * The display name is the citizen's name or the authority's designation.
+ */
+public record AccountPrincipal(Role role, Long accountId, String username, String displayName) {
+
+    public enum Role {
+        CITIZEN("Citizen"),
+        AUTHORITY("Authority");
+
+        private final String userType;
+
+        Role(String userType) {
+            this.userType = userType;
+        }
+
+        /**
+         * The user type the dashboards are opened with
+         */
+        public String getUserType() {
+            return userType;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Authority;
+import com.complaintmanagement.model.Citizen;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access to Citizen and Authority accounts
+ */
+public class AccountRepository extends BaseRepository {
+
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    public AccountRepository() {
+        super();
+    }
+
+    public AccountRepository(Supplier<EntityManagerFactory> emfSupplier) {
+        super(emfSupplier);
+    }
+
+    /**
+     * Find the account (citizen or authority) whose username and password match, with one query
+     * on Account_View. A citizen wins when both tables hold the username with the same password.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Optional<AccountPrincipal>> findAccountByCredentials(String username, String password) {
+        return read(em -> {
+            List<Object[]> rows = em.createNativeQuery(
+                    "SELECT account_role, account_id, display_name, password FROM Account_View " +
+                    "WHERE username = :username")
+                .setParameter("username", username)
+                .getResultList();
+            return rows.stream()
+                .filter(row -> password.equals(row[3]))
+                .map(row -> new AccountPrincipal(AccountPrincipal.Role.valueOf((String) row[0]),
+                    ((Number) row[1]).longValue(), username, (String) row[2]))
+                .min(Comparator.comparing(AccountPrincipal::role));
+        });
+    }
+
+    /**
+     * True if a citizen or authority has this username
+     */
+    public CompletableFuture<Boolean> usernameExists(String username) {
+        return read(em -> ((Number) em.createNativeQuery(
+                "SELECT COUNT(*) FROM Account_View WHERE username = :username")
+            .setParameter("username", username)
+            .getSingleResult()).longValue() > 0);
+    }
+
+    /**
+     * Number of citizen and authority accounts
+     */
+    public CompletableFuture<Long> countAccounts() {
+        return read(em -> ((Number) em.createNativeQuery("SELECT COUNT(*) FROM Account_View")
+            .getSingleResult()).longValue());
+    }
+
+    /**
+     * Stream the usernames of accounts with ids above those in {@code after} to the consumer
+     * (on the repository thread); {@link UsernameScan#START} streams every username.
+     * Completes with the number read and the highest ids seen, which the next call can continue from.
+     */
+    public CompletableFuture<UsernameScan> scanUsernames(UsernameScan after, Consumer<String> consumer) {
+        return read(em -> {
+            Session session = em.unwrap(Session.class);
+            long[] citizens = scanAfter(session,
+                "SELECT citizen_id, citizen_username FROM Citizen WHERE citizen_id > :id",
+                after.lastCitizenId(), consumer);
+            long[] authorities = scanAfter(session,
+                "SELECT authority_id, authority_username FROM Authority WHERE authority_id > :id",
+                after.lastAuthorityId(), consumer);
+            return new UsernameScan(citizens[0] + authorities[0], citizens[1], authorities[1]);
+        });
+    }
+
+    /**
+     * Returns the number of rows read and the highest id among them (afterId when none)
+     */
+    private static long[] scanAfter(Session session, String sql, long afterId, Consumer<String> consumer) {
+        long count = 0;
+        long lastId = afterId;
+        try (ScrollableResults<Object[]> rows = session.createNativeQuery(sql, Object[].class)
+            .setParameter("id", afterId)
+            .setFetchSize(SCAN_FETCH_SIZE)
+            .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                consumer.accept((String) row[1]);
+                lastId = Math.max(lastId, ((Number) row[0]).longValue());
+                count++;
+            }
+        }
+        return new long[] { count, lastId };
+    }
+
+    /**
+     * Persist a new citizen and return it with its generated id
+     */
+    public CompletableFuture<Citizen> createCitizen(Citizen citizen) {
+        return write(em -> {
+            em.persist(citizen);
+            return citizen;
+        });
+    }
+
+    /**
+     * Load a citizen by id
+     */
+    public CompletableFuture<Optional<Citizen>> findCitizen(Long citizenId) {
+        return read(em -> Optional.ofNullable(em.find(Citizen.class, citizenId)));
+    }
+
+    /**
+     * Load an authority (with its department) by id, from the second-level cache when warm
+     */
+    public CompletableFuture<Optional<Authority>> findAuthority(Long authorityId) {
+        return read(em -> Optional.ofNullable(em.find(Authority.class, authorityId)));
+    }
+}
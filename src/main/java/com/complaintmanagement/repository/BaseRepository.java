@@ -0,0 +1,53 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Base class for the asynchronous repositories.
+ * Each call runs in its own {@link UnitOfWork} on a virtual thread: the EntityManager is
+ * opened for the work and closed again, so entities handed back to callers are detached
+ * and no persistence context grows with the lifetime of a screen.
+ */
+abstract class BaseRepository {
+
+    /** Query hint applying an entity graph on top of the mapped fetch types */
+    protected static final String LOAD_GRAPH = "jakarta.persistence.loadgraph";
+
+    private final Supplier<EntityManagerFactory> emfSupplier;
+
+    protected BaseRepository() {
+        this(DatabaseConfig::getEntityManagerFactory);
+    }
+
+    protected BaseRepository(Supplier<EntityManagerFactory> emfSupplier) {
+        this.emfSupplier = emfSupplier;
+    }
+
+    /**
+     * Run read-only work off the FX thread
+     */
+    protected <T> CompletableFuture<T> read(Function<EntityManager, T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (UnitOfWork unit = UnitOfWork.open(emfSupplier.get(), getClass().getSimpleName())) {
+                return work.apply(unit.em());
+            }
+        }, RepositoryExecutor.get());
+    }
+
+    /**
+     * Run work inside a transaction off the FX thread, rolling back on failure
+     */
+    protected <T> CompletableFuture<T> write(Function<EntityManager, T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (UnitOfWork unit = UnitOfWork.open(emfSupplier.get(), getClass().getSimpleName())) {
+                return unit.inTransaction(work);
+            }
+        }, RepositoryExecutor.get());
+    }
+}
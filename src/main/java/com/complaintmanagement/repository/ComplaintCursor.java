@@ -0,0 +1,18 @@
+package com.complaintmanagement.repository;
+
+import java.util.Date;
+
+/**
+ * Keyset position in the authority complaint list, which is ordered by
+ * status rank ascending, then complaint date and id descending.
+ * A page request returns the rows strictly after this position.
+ */
+public record ComplaintCursor(int statusRank, Date complaintDate, Long complaintId) {
+
+    /**
+     * Cursor pointing at the given row
+     */
+    public static ComplaintCursor of(ComplaintSummary row) {
+        return new ComplaintCursor(row.status().getRank(), row.complaintDate(), row.complaintId());
+    }
+}
@@ -0,0 +1,244 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.model.ComplaintStatus;
+import com.complaintmanagement.model.StatusScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access to Complaint data
+ */
+public class ComplaintRepository extends BaseRepository {
+
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    public ComplaintRepository() {
+        super();
+    }
+
+    public ComplaintRepository(Supplier<EntityManagerFactory> emfSupplier) {
+        super(emfSupplier);
+    }
+
+    /**
+     * Count a citizen's complaints per status from the materialized counters
+     */
+    public CompletableFuture<EnumMap<ComplaintStatus, Long>> countStatusesByCitizen(Long citizenId) {
+        return read(em -> StatusCounterRepository.findCounts(em, StatusScope.CITIZEN, citizenId));
+    }
+
+    /**
+     * Count a department's complaints per status from the materialized counters
+     */
+    public CompletableFuture<EnumMap<ComplaintStatus, Long>> countStatusesByDepartment(Long deptId) {
+        return read(em -> StatusCounterRepository.findCounts(em, StatusScope.DEPARTMENT, deptId));
+    }
+
+    /**
+     * Count all complaints in the system per status, summed from the department counters
+     */
+    public CompletableFuture<EnumMap<ComplaintStatus, Long>> countStatuses() {
+        return read(StatusCounterRepository::findSystemCounts);
+    }
+
+    /**
+     * Load a citizen's most recent complaints as table rows
+     */
+    public CompletableFuture<List<ComplaintSummary>> findRecentByCitizen(Long citizenId, int limit) {
+        return read(em -> em.createQuery(
+                ComplaintSummary.SELECT + "WHERE ci.citizen_id = :citizenId " +
+                "ORDER BY c.complaint_date DESC", ComplaintSummary.class)
+            .setParameter("citizenId", citizenId)
+            .setMaxResults(limit)
+            .getResultList());
+    }
+
+    /**
+     * Load one page of a department's complaints as table rows, ordered by
+     * status rank and date. Pass a null cursor for the first page, otherwise the cursor
+     * of the last row already shown. The order matches idx_complaint_dept_rank_date,
+     * so Oracle reads the page straight off the index without sorting.
+     */
+    public CompletableFuture<List<ComplaintSummary>> findDepartmentPage(Long deptId, ComplaintCursor after, int pageSize) {
+        return read(em -> {
+            String jpql = ComplaintSummary.SELECT + "WHERE c.department.dept_id = :deptId ";
+            if (after != null) {
+                jpql += "AND (c.status_rank > :rank OR (c.status_rank = :rank AND " +
+                        "(c.complaint_date < :date OR (c.complaint_date = :date AND c.complaint_id < :id)))) ";
+            }
+            jpql += "ORDER BY c.status_rank, c.complaint_date DESC, c.complaint_id DESC";
+
+            TypedQuery<ComplaintSummary> query = em.createQuery(jpql, ComplaintSummary.class)
+                .setParameter("deptId", deptId)
+                .setMaxResults(pageSize);
+            if (after != null) {
+                query.setParameter("rank", after.statusRank());
+                query.setParameter("date", after.complaintDate());
+                query.setParameter("id", after.complaintId());
+            }
+            return query.getResultList();
+        });
+    }
+
+    /**
+     * Load the table rows of the given complaints, in the order of the ids (e.g. search rank).
+     * At most 1000 ids, the size of an Oracle IN list.
+     */
+    public CompletableFuture<List<ComplaintSummary>> findSummaries(List<Long> complaintIds) {
+        if (complaintIds.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return read(em -> {
+            Map<Long, ComplaintSummary> byId = new HashMap<>();
+            em.createQuery(ComplaintSummary.SELECT + "WHERE c.complaint_id IN :ids", ComplaintSummary.class)
+                .setParameter("ids", complaintIds)
+                .getResultList()
+                .forEach(summary -> byId.put(summary.complaintId(), summary));
+            List<ComplaintSummary> ordered = new ArrayList<>(byId.size());
+            for (Long id : complaintIds) {
+                ComplaintSummary summary = byId.get(id);
+                if (summary != null) {
+                    ordered.add(summary);
+                }
+            }
+            return ordered;
+        });
+    }
+
+    /**
+     * Stream the title and description of every complaint, in id order, to the consumer.
+     * Scalar rows are read through a forward-only cursor, so nothing accumulates in memory;
+     * the consumer runs on the repository thread. Completes with the number of complaints read.
+     */
+    public CompletableFuture<Long> scanText(Consumer<ComplaintText> consumer) {
+        return read(em -> {
+            long count = 0;
+            try (ScrollableResults<ComplaintText> rows = em.unwrap(Session.class).createSelectionQuery(
+                    "SELECT new com.complaintmanagement.repository.ComplaintText(" +
+                    "c.complaint_id, c.department.dept_id, c.complaint_title, c.complaint_descp) " +
+                    "FROM Complaint c ORDER BY c.complaint_id", ComplaintText.class)
+                .setFetchSize(SCAN_FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    consumer.accept(rows.get());
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Load a single complaint together with its citizen
+     */
+    public CompletableFuture<Optional<Complaint>> findById(Long complaintId) {
+        return read(em -> em.createQuery(
+                "SELECT c FROM Complaint c WHERE c.complaint_id = :complaintId", Complaint.class)
+            .setHint(LOAD_GRAPH, em.getEntityGraph(Complaint.WITH_CITIZEN))
+            .setParameter("complaintId", complaintId)
+            .getResultList().stream()
+            .findFirst());
+    }
+
+    /**
+     * Stream the open complaints filed since the given date that are not themselves linked
+     * duplicates, in id order, to the consumer (on the repository thread).
+     * Completes with the number of complaints read.
+     */
+    public CompletableFuture<Long> scanOpenSince(Date since, Consumer<RecentComplaint> consumer) {
+        return read(em -> {
+            long count = 0;
+            try (ScrollableResults<RecentComplaint> rows = em.unwrap(Session.class).createSelectionQuery(
+                    "SELECT new com.complaintmanagement.repository.RecentComplaint(" +
+                    "c.complaint_id, c.department.dept_id, ci.citizen_pincode, c.complaint_title, " +
+                    "c.complaint_descp, c.complaint_date) " +
+                    "FROM Complaint c JOIN c.citizen ci " +
+                    "WHERE c.resolve_status <> :closed AND c.complaint_date >= :since AND c.duplicate_of IS NULL " +
+                    "ORDER BY c.complaint_id", RecentComplaint.class)
+                .setParameter("closed", ComplaintStatus.CLOSED)
+                .setParameter("since", since)
+                .setFetchSize(SCAN_FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    consumer.accept(rows.get());
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Persist a new complaint and return it with its generated id
+     */
+    public CompletableFuture<Complaint> create(Complaint complaint) {
+        return create(complaint, null);
+    }
+
+    /**
+     * Persist a new complaint, optionally linked as a near-duplicate of an existing one
+     */
+    public CompletableFuture<Complaint> create(Complaint complaint, Long duplicateOfId) {
+        return write(em -> {
+            if (duplicateOfId != null) {
+                complaint.setDuplicate_of(em.getReference(Complaint.class, duplicateOfId));
+            }
+            em.persist(complaint);
+            StatusCounterRepository.recordCreated(em, complaint);
+            return complaint;
+        });
+    }
+
+    /**
+     * Move a complaint to the target status only if it is still in the status the caller saw.
+     * A concurrent change by another authority is reported as a CONFLICT instead of being overwritten.
+     */
+    public CompletableFuture<StatusTransition> transition(Long complaintId, ComplaintStatus expected,
+                                                          ComplaintStatus target) {
+        return write(em -> transition(em, complaintId, expected, target));
+    }
+
+    /**
+     * Conditional UPDATE inside the caller's transaction. The update also locks the row,
+     * so concurrent transitions on the same complaint are serialized until commit.
+     */
+    static StatusTransition transition(EntityManager em, Long complaintId, ComplaintStatus expected,
+                                       ComplaintStatus target) {
+        int updated = em.createQuery(
+                "UPDATE Complaint c SET c.resolve_status = :target, c.status_rank = :targetRank, " +
+                "c.version = c.version + 1 " +
+                "WHERE c.complaint_id = :complaintId AND c.resolve_status = :expected")
+            .setParameter("target", target)
+            .setParameter("targetRank", target.getRank())
+            .setParameter("complaintId", complaintId)
+            .setParameter("expected", expected)
+            .executeUpdate();
+
+        // Read back the committed-or-just-updated row (the persistence context is still empty)
+        Complaint current = em.find(Complaint.class, complaintId);
+        if (current == null) {
+            return StatusTransition.notFound();
+        }
+        if (updated == 0) {
+            return StatusTransition.of(StatusTransition.Outcome.CONFLICT, current);
+        }
+        StatusCounterRepository.recordTransition(em, current, expected, target);
+        return StatusTransition.of(StatusTransition.Outcome.APPLIED, current);
+    }
+}
@@ -0,0 +1,28 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.ComplaintStatus;
+
+import java.util.Date;
+
+/**
+ * Immutable row for the dashboard complaint tables.
+ * Filled directly by a JPQL constructor expression, so nothing is added to the
+ * persistence context and no lazy association is ever touched.
+ */
+public record ComplaintSummary(Long complaintId,
+                               String title,
+                               String type,
+                               String departmentName,
+                               String citizenName,
+                               ComplaintStatus status,
+                               Date complaintDate) {
+
+    /**
+     * JPQL select clause matching the record constructor; expects the aliases c, d and ci
+     */
+    static final String SELECT =
+        "SELECT new com.complaintmanagement.repository.ComplaintSummary(" +
+        "c.complaint_id, c.complaint_title, c.complaint_type, d.dept_name, ci.citizen_name, " +
+        "c.resolve_status, c.complaint_date) " +
+        "FROM Complaint c JOIN c.department d JOIN c.citizen ci ";
+}
@@ -0,0 +1,17 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Complaint;
+
+/**
+ * The searchable text of one complaint, as fed to the full-text index
+ */
+public record ComplaintText(Long complaintId, Long deptId, String title, String description) {
+
+    /**
+     * Text of a complaint that has just been saved
+     */
+    public static ComplaintText of(Complaint complaint) {
+        return new ComplaintText(complaint.getComplaint_id(), complaint.getDepartment().getDept_id(),
+            complaint.getComplaint_title(), complaint.getComplaint_descp());
+    }
+}
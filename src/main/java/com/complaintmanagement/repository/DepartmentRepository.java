@@ -0,0 +1,53 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.ComplaintTypeRoute;
+import com.complaintmanagement.model.Department;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access to Department data
+ */
+public class DepartmentRepository extends BaseRepository {
+
+    public DepartmentRepository() {
+        super();
+    }
+
+    public DepartmentRepository(Supplier<EntityManagerFactory> emfSupplier) {
+        super(emfSupplier);
+    }
+
+    /**
+     * Find a department by its unique name (served from the natural-id cache when warm)
+     */
+    public CompletableFuture<Optional<Department>> findByName(String deptName) {
+        return read(em -> em.unwrap(Session.class)
+            .bySimpleNaturalId(Department.class)
+            .loadOptional(deptName));
+    }
+
+    /**
+     * Load all departments ordered by name
+     */
+    public CompletableFuture<List<Department>> findAll() {
+        return read(em -> em.createQuery(
+                "SELECT d FROM Department d ORDER BY d.dept_name", Department.class)
+            .getResultList());
+    }
+
+    /**
+     * Load every complaint type route (with its department) in display order
+     */
+    public CompletableFuture<List<ComplaintTypeRoute>> findRoutes() {
+        return read(em -> em.createQuery(
+                "SELECT r FROM ComplaintTypeRoute r JOIN FETCH r.department ORDER BY r.display_order",
+                ComplaintTypeRoute.class)
+            .getResultList());
+    }
+}
@@ -0,0 +1,21 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Complaint;
+
+import java.util.Date;
+
+/**
+ * An open complaint as seen by near-duplicate detection: where it was filed and what it says
+ */
+public record RecentComplaint(Long complaintId, Long deptId, String pincode, String title,
+                              String description, Date complaintDate) {
+
+    /**
+     * A complaint that has just been saved (its citizen must be loaded)
+     */
+    public static RecentComplaint of(Complaint complaint) {
+        return new RecentComplaint(complaint.getComplaint_id(), complaint.getDepartment().getDept_id(),
+            complaint.getCitizen().getCitizen_pincode(), complaint.getComplaint_title(),
+            complaint.getComplaint_descp(), complaint.getComplaint_date());
+    }
+}
@@ -0,0 +1,40 @@
+package com.complaintmanagement.repository;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor shared by all repositories.
+ * Every JPA call runs on its own virtual thread so that a slow database never
+ * blocks the JavaFX application thread.
+ */
+public final class RepositoryExecutor {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("repository-", 0).factory());
+
+    private RepositoryExecutor() {}
+
+    /**
+     * Get the executor used for database work
+     */
+    public static ExecutorService get() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Stop accepting work and give running queries a moment to finish
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            EXECUTOR.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
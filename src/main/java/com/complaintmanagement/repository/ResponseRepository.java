@@ -0,0 +1,72 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Authority;
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.model.ComplaintStatus;
+import com.complaintmanagement.model.Response;
+import com.complaintmanagement.model.ResponseId;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access to Response data
+ */
+public class ResponseRepository extends BaseRepository {
+
+    /** Response_SEQ is created with INCREMENT BY 50 (sql_scripts/response_sequence.sql) */
+    private static final SequenceBlockAllocator RESPONSE_IDS = new SequenceBlockAllocator("Response_SEQ", 50);
+
+    public ResponseRepository() {
+        super();
+    }
+
+    public ResponseRepository(Supplier<EntityManagerFactory> emfSupplier) {
+        super(emfSupplier);
+    }
+
+    /**
+     * Load the responses of a complaint (with their authorities) in date order
+     */
+    public CompletableFuture<List<Response>> findByComplaint(Long complaintId, boolean newestFirst) {
+        return read(em -> em.createQuery(
+                "SELECT r FROM Response r WHERE r.complaint.complaint_id = :complaintId " +
+                "ORDER BY r.response_date " + (newestFirst ? "DESC" : "ASC"), Response.class)
+            .setHint(LOAD_GRAPH, em.getEntityGraph(Response.WITH_AUTHORITY))
+            .setParameter("complaintId", complaintId)
+            .getResultList());
+    }
+
+    /**
+     * Add a response to a complaint the authority last saw in the expected status.
+     * An UNREAD/READ complaint moves to IN_PROGRESS; if another authority changed the
+     * status in the meantime nothing is inserted and the conflict is returned instead.
+     */
+    public CompletableFuture<StatusTransition> submit(Long complaintId, Long authorityId, String text,
+                                                      ComplaintStatus expected) {
+        return write(em -> {
+            if (expected == ComplaintStatus.CLOSED) {
+                throw new IllegalArgumentException("Complaint #" + complaintId + " is closed");
+            }
+            // IN_PROGRESS -> IN_PROGRESS still checks the status and bumps the version
+            StatusTransition transition = ComplaintRepository.transition(
+                em, complaintId, expected, ComplaintStatus.IN_PROGRESS);
+            if (!transition.applied()) {
+                return transition;
+            }
+
+            // Globally unique response_id from the sequence block, no read of Response needed
+            Response response = new Response();
+            response.setId(new ResponseId(complaintId, authorityId, RESPONSE_IDS.next(em)));
+            response.setComplaint(em.getReference(Complaint.class, complaintId));
+            response.setAuthority(em.getReference(Authority.class, authorityId));
+            response.setResponse(text);
+            response.setResponse_date(new Date());
+            em.persist(response);
+            return transition;
+        });
+    }
+}
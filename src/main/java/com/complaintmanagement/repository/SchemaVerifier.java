@@ -0,0 +1,94 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.model.Response;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Checks that the indexes declared with @Index on the entities exist in the
+ * connected Oracle schema with the declared columns.
+ * The entity annotations are the single list of expected indexes;
+ * sql_scripts/dashboard_indexes.sql followed by status_rank.sql creates them on existing databases.
+ */
+public class SchemaVerifier extends BaseRepository {
+
+    private static final Class<?>[] INDEXED_ENTITIES = { Complaint.class, Response.class };
+
+    public SchemaVerifier() {
+        super();
+    }
+
+    public SchemaVerifier(Supplier<EntityManagerFactory> emfSupplier) {
+        super(emfSupplier);
+    }
+
+    /**
+     * Describe every declared index that is missing or covers different columns; empty when all match
+     */
+    public CompletableFuture<List<String>> findIndexProblems() {
+        return read(em -> {
+            List<String> problems = new ArrayList<>();
+            for (Class<?> entity : INDEXED_ENTITIES) {
+                Table table = entity.getAnnotation(Table.class);
+                Map<String, String> existing = findIndexColumns(em, table.name());
+                for (Index index : table.indexes()) {
+                    String expected = normalize(index.columnList());
+                    String actual = existing.get(index.name().toUpperCase(Locale.ROOT));
+                    if (actual == null) {
+                        problems.add(table.name() + "." + index.name() + " is missing (" + expected + ")");
+                    } else if (!actual.equals(expected)) {
+                        problems.add(table.name() + "." + index.name() + " covers (" + actual
+                                + ") instead of (" + expected + ")");
+                    }
+                }
+            }
+            return problems;
+        });
+    }
+
+    /**
+     * Column list per index name, in the normalized form of {@link #normalize(String)}.
+     * Oracle stores DESC columns as hidden expressions, so those come from user_ind_expressions.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> findIndexColumns(EntityManager em, String tableName) {
+        List<Object[]> rows = em.createNativeQuery(
+                "SELECT c.index_name, c.column_name, c.descend, e.column_expression " +
+                "FROM user_ind_columns c LEFT JOIN user_ind_expressions e " +
+                "ON e.index_name = c.index_name AND e.column_position = c.column_position " +
+                "WHERE c.table_name = :tableName ORDER BY c.index_name, c.column_position")
+            .setParameter("tableName", tableName.toUpperCase(Locale.ROOT))
+            .getResultList();
+        Map<String, String> columns = new HashMap<>();
+        for (Object[] row : rows) {
+            String column = "DESC".equals(row[2]) && row[3] != null
+                ? row[3].toString().replace("\"", "") + " DESC"
+                : (String) row[1];
+            columns.merge((String) row[0], column, (list, next) -> list + "," + next);
+        }
+        return columns;
+    }
+
+    /**
+     * "a, b DESC" -> "A,B DESC" (ASC is the default and dropped)
+     */
+    private static String normalize(String columnList) {
+        List<String> columns = new ArrayList<>();
+        for (String column : columnList.split(",")) {
+            String normalized = column.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+            columns.add(normalized.endsWith(" ASC") ? normalized.substring(0, normalized.length() - 4) : normalized);
+        }
+        return String.join(",", columns);
+    }
+}
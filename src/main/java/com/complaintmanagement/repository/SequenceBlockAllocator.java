@@ -0,0 +1,60 @@
+package com.complaintmanagement.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out ids from an Oracle sequence in blocks ("pooled-lo").
+ * One NEXTVAL reserves the range [value, value + blockSize - 1]; ids inside the
+ * range are taken with a single atomic increment, so inserts never read the target
+ * table and concurrent writers can never be given the same id. The sequence must be
+ * created with INCREMENT BY equal to the block size.
+ */
+final class SequenceBlockAllocator {
+
+    private final String sequenceName;
+    private final int blockSize;
+    private final ReentrantLock refill = new ReentrantLock();
+    private volatile Block block = new Block(1, 0);
+
+    SequenceBlockAllocator(String sequenceName, int blockSize) {
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next id; only the caller that finds the current block exhausted touches the database
+     */
+    long next(EntityManager em) {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id <= current.last) {
+                return id;
+            }
+            refill.lock();
+            try {
+                // Another thread may already have replaced the exhausted block
+                if (block == current) {
+                    long start = ((Number) em.createNativeQuery(
+                            "SELECT " + sequenceName + ".NEXTVAL FROM DUAL").getSingleResult()).longValue();
+                    block = new Block(start, start + blockSize - 1);
+                }
+            } finally {
+                refill.unlock();
+            }
+        }
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long last;
+
+        Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.model.ComplaintStatus;
+import com.complaintmanagement.model.StatusScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Access to the Complaint_Status_Counter table.
+ * Writers call the static record* methods inside their own transaction so the
+ * counters always commit (or roll back) together with the complaint change.
+ * There is no system-wide row: every writer would update it, so the system
+ * totals are summed from the department rows instead.
+ */
+public class StatusCounterRepository extends BaseRepository {
+
+    private static final int ORA_UNIQUE_CONSTRAINT = 1;
+
+    private static final String MERGE_COUNTER_SQL =
+        "MERGE INTO Complaint_Status_Counter t " +
+        "USING (SELECT ? AS counter_scope, ? AS scope_id, ? AS resolve_status, ? AS delta FROM DUAL) s " +
+        "ON (t.counter_scope = s.counter_scope AND t.scope_id = s.scope_id AND t.resolve_status = s.resolve_status) " +
+        "WHEN MATCHED THEN UPDATE SET t.complaint_count = t.complaint_count + s.delta " +
+        "WHEN NOT MATCHED THEN INSERT (counter_scope, scope_id, resolve_status, complaint_count) " +
+        "VALUES (s.counter_scope, s.scope_id, s.resolve_status, s.delta)";
+
+    private static final String UPDATE_COUNTER_SQL =
+        "UPDATE Complaint_Status_Counter SET complaint_count = complaint_count + ? " +
+        "WHERE counter_scope = ? AND scope_id = ? AND resolve_status = ?";
+
+    private static final String[] REBUILD_SQL = {
+        // Writers block on their counter MERGE until the rebuild commits, so none of their
+        // deltas is wiped by the DELETE or counted twice by the INSERTs
+        "LOCK TABLE Complaint_Status_Counter IN EXCLUSIVE MODE",
+        "DELETE FROM Complaint_Status_Counter",
+        "INSERT INTO Complaint_Status_Counter (counter_scope, scope_id, resolve_status, complaint_count) " +
+        "SELECT 'CITIZEN', citizen_id, resolve_status, COUNT(*) FROM Complaint GROUP BY citizen_id, resolve_status",
+        "INSERT INTO Complaint_Status_Counter (counter_scope, scope_id, resolve_status, complaint_count) " +
+        "SELECT 'DEPARTMENT', dept_id, resolve_status, COUNT(*) FROM Complaint GROUP BY dept_id, resolve_status"
+    };
+
+    public StatusCounterRepository() {
+        super();
+    }
+
+    public StatusCounterRepository(Supplier<EntityManagerFactory> emfSupplier) {
+        super(emfSupplier);
+    }
+
+    /**
+     * Read the counters of one scope; statuses without a row are reported as 0
+     */
+    public CompletableFuture<EnumMap<ComplaintStatus, Long>> findCounts(StatusScope scope, Long scopeId) {
+        return read(em -> findCounts(em, scope, scopeId));
+    }
+
+    static EnumMap<ComplaintStatus, Long> findCounts(EntityManager em, StatusScope scope, Long scopeId) {
+        EnumMap<ComplaintStatus, Long> counts = new EnumMap<>(ComplaintStatus.class);
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            counts.put(status, 0L);
+        }
+        em.createQuery(
+                "SELECT k.id.resolve_status, k.complaint_count FROM ComplaintStatusCounter k " +
+                "WHERE k.id.counter_scope = :scope AND k.id.scope_id = :scopeId", Object[].class)
+            .setParameter("scope", scope)
+            .setParameter("scopeId", scopeId)
+            .getResultList()
+            .forEach(row -> counts.put((ComplaintStatus) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    /**
+     * System-wide counts, summed from the department counters
+     */
+    static EnumMap<ComplaintStatus, Long> findSystemCounts(EntityManager em) {
+        EnumMap<ComplaintStatus, Long> counts = new EnumMap<>(ComplaintStatus.class);
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            counts.put(status, 0L);
+        }
+        em.createQuery(
+                "SELECT k.id.resolve_status, SUM(k.complaint_count) FROM ComplaintStatusCounter k " +
+                "WHERE k.id.counter_scope = :scope GROUP BY k.id.resolve_status", Object[].class)
+            .setParameter("scope", StatusScope.DEPARTMENT)
+            .getResultList()
+            .forEach(row -> counts.put((ComplaintStatus) row[0], ((Number) row[1]).longValue()));
+        return counts;
+    }
+
+    /**
+     * Rebuild every counter from the Complaint table in one transaction
+     */
+    public CompletableFuture<Void> rebuild() {
+        return write(em -> {
+            rebuild(em);
+            return null;
+        });
+    }
+
+    /**
+     * Rebuild the counters only if the table has never been populated
+     */
+    public CompletableFuture<Boolean> rebuildIfEmpty() {
+        return write(em -> {
+            boolean empty = em.createQuery("SELECT COUNT(k) FROM ComplaintStatusCounter k", Long.class)
+                .getSingleResult() == 0L;
+            if (empty) {
+                rebuild(em);
+            }
+            return empty;
+        });
+    }
+
+    static void rebuild(EntityManager em) {
+        for (String sql : REBUILD_SQL) {
+            em.createNativeQuery(sql).executeUpdate();
+        }
+    }
+
+    /**
+     * Count a newly inserted complaint
+     */
+    static void recordCreated(EntityManager em, Complaint complaint) {
+        applyDelta(em, complaint, complaint.getResolve_status(), 1);
+    }
+
+    /**
+     * Move a complaint from one status bucket to another
+     */
+    static void recordTransition(EntityManager em, Complaint complaint, ComplaintStatus from, ComplaintStatus to) {
+        if (from == to) {
+            return;
+        }
+        applyDelta(em, complaint, from, -1);
+        applyDelta(em, complaint, to, 1);
+    }
+
+    private static void applyDelta(EntityManager em, Complaint complaint, ComplaintStatus status, long delta) {
+        merge(em, StatusScope.CITIZEN, complaint.getCitizen().getCitizen_id(), status, delta);
+        merge(em, StatusScope.DEPARTMENT, complaint.getDepartment().getDept_id(), status, delta);
+    }
+
+    /**
+     * Two transactions creating the same counter row both take the NOT MATCHED branch;
+     * the second fails with ORA-00001 once the first commits, and then only has to update.
+     * Runs on the JDBC connection so the caught failure does not mark the transaction rollback-only.
+     */
+    private static void merge(EntityManager em, StatusScope scope, Long scopeId, ComplaintStatus status, long delta) {
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement merge = connection.prepareStatement(MERGE_COUNTER_SQL)) {
+                merge.setString(1, scope.name());
+                merge.setLong(2, scopeId);
+                merge.setString(3, status.name());
+                merge.setLong(4, delta);
+                merge.executeUpdate();
+            } catch (SQLException e) {
+                if (e.getErrorCode() != ORA_UNIQUE_CONSTRAINT) {
+                    throw e;
+                }
+                try (PreparedStatement update = connection.prepareStatement(UPDATE_COUNTER_SQL)) {
+                    update.setLong(1, delta);
+                    update.setString(2, scope.name());
+                    update.setLong(3, scopeId);
+                    update.setString(4, status.name());
+                    update.executeUpdate();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.model.ComplaintStatus;
+
+/**
+ * Result of a conditional status change.
+ * On CONFLICT the status and version are the ones another user committed, so the
+ * screen can show them without reloading everything else.
+ */
+public record StatusTransition(Outcome outcome, ComplaintStatus status, Long version) {
+
+    public enum Outcome {
+        APPLIED,
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    public boolean applied() {
+        return outcome == Outcome.APPLIED;
+    }
+
+    static StatusTransition of(Outcome outcome, Complaint complaint) {
+        return new StatusTransition(outcome, complaint.getResolve_status(), complaint.getVersion());
+    }
+
+    static StatusTransition notFound() {
+        return new StatusTransition(Outcome.NOT_FOUND, null, null);
+    }
+}
@@ -0,0 +1,223 @@
+package com.complaintmanagement.repository;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One EntityManager for one operation: opened by {@link #open}, closed by {@link #close()}
+ * (use try-with-resources), so no persistence context outlives the work it was opened for.
+ * Every open unit is tracked. One still open after {@code persistence.uow.leak.seconds} is
+ * reported as long-lived, with the stack that opened it when {@code persistence.uow.trace}
+ * is on; one that becomes unreachable without being closed is reported as leaked and its
+ * EntityManager (and any connection it holds) is closed by the cleaner.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final long LONG_LIVED_NANOS = TimeUnit.SECONDS.toNanos(
+        Long.parseLong(DatabaseConfig.getSetting("persistence.uow.leak.seconds", "60")));
+    private static final boolean TRACE = Boolean.parseBoolean(
+        DatabaseConfig.getSetting("persistence.uow.trace", "false"));
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final Map<Long, State> OPEN = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    private static final AtomicLong LAST_SWEEP = new AtomicLong(System.nanoTime());
+    private static final LongAdder OPENED = new LongAdder();
+    private static final LongAdder CLOSED = new LongAdder();
+    private static final LongAdder LEAKED = new LongAdder();
+    private static final LongAdder LONG_LIVED = new LongAdder();
+
+    private final State state;
+    private final Cleaner.Cleanable cleanable;
+
+    private UnitOfWork(State state) {
+        this.state = state;
+        this.cleanable = CLEANER.register(this, state);
+    }
+
+    /**
+     * Open a unit of work on the factory. The purpose names it in leak reports.
+     */
+    public static UnitOfWork open(EntityManagerFactory emf, String purpose) {
+        if (emf == null) {
+            throw new IllegalStateException("Database not available");
+        }
+        sweepIfDue();
+        State state = new State(NEXT_ID.incrementAndGet(), purpose, emf.createEntityManager(),
+            Thread.currentThread().getName(), TRACE ? new Throwable("Unit of work opened here") : null);
+        OPEN.put(state.id, state);
+        OPENED.increment();
+        return new UnitOfWork(state);
+    }
+
+    public EntityManager em() {
+        if (state.closed) {
+            throw new IllegalStateException("Unit of work " + state.purpose + " is closed");
+        }
+        return state.em;
+    }
+
+    /**
+     * Run the work in a transaction of this unit, rolling back on failure
+     */
+    public <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityTransaction tx = em().getTransaction();
+        try {
+            tx.begin();
+            T result = work.apply(state.em);
+            tx.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Flush pending changes and detach everything loaded so far, for long operations that
+     * would otherwise keep every entity they touch
+     */
+    public void flushAndClear() {
+        EntityManager em = em();
+        if (em.isJoinedToTransaction()) {
+            em.flush();
+        }
+        em.clear();
+    }
+
+    /**
+     * Close the EntityManager, rolling back a transaction left open
+     */
+    @Override
+    public void close() {
+        state.closed = true;
+        cleanable.clean();
+    }
+
+    /**
+     * Units of work currently open, oldest first
+     */
+    public static List<OpenUnit> openUnits() {
+        long now = System.nanoTime();
+        List<OpenUnit> units = new ArrayList<>();
+        for (State state : OPEN.values()) {
+            units.add(new OpenUnit(state.purpose, state.thread, TimeUnit.NANOSECONDS.toMillis(now - state.openedAt)));
+        }
+        units.sort(Comparator.comparingLong(OpenUnit::openMillis).reversed());
+        return units;
+    }
+
+    public static Metrics metrics() {
+        return new Metrics(OPENED.sum(), CLOSED.sum(), OPEN.size(), LONG_LIVED.sum(), LEAKED.sum());
+    }
+
+    /**
+     * Print every unit of work still open, e.g. at shutdown
+     */
+    public static void logOpenUnits() {
+        List<OpenUnit> units = openUnits();
+        System.out.println("Units of work: " + metrics());
+        units.forEach(unit -> System.err.println("Unit of work still open: " + unit));
+    }
+
+    /**
+     * Report units open for longer than the limit; cheap enough to run from open()
+     */
+    private static void sweepIfDue() {
+        long now = System.nanoTime();
+        long last = LAST_SWEEP.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !LAST_SWEEP.compareAndSet(last, now)) {
+            return;
+        }
+        for (State state : OPEN.values()) {
+            if (!state.reportedLongLived && now - state.openedAt > LONG_LIVED_NANOS) {
+                state.reportedLongLived = true;
+                LONG_LIVED.increment();
+                System.err.println("Unit of work " + state.purpose + " opened on " + state.thread + " has been open for "
+                    + TimeUnit.NANOSECONDS.toSeconds(now - state.openedAt) + " s");
+                if (state.openedBy != null) {
+                    state.openedBy.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * A unit of work that has not been closed yet
+     */
+    public record OpenUnit(String purpose, String thread, long openMillis) {
+    }
+
+    /**
+     * Units opened and closed since startup, open now, reported as long-lived and leaked
+     */
+    public record Metrics(long opened, long closed, int open, long longLived, long leaked) {
+    }
+
+    /**
+     * Everything needed to close the EntityManager; must not refer to the UnitOfWork itself,
+     * or the cleaner could never see it become unreachable
+     */
+    private static final class State implements Runnable {
+        private final long id;
+        private final String purpose;
+        private final EntityManager em;
+        private final String thread;
+        private final Throwable openedBy;
+        private final long openedAt = System.nanoTime();
+        private volatile boolean closed;
+        private volatile boolean reportedLongLived;
+
+        State(long id, String purpose, EntityManager em, String thread, Throwable openedBy) {
+            this.id = id;
+            this.purpose = purpose;
+            this.em = em;
+            this.thread = thread;
+            this.openedBy = openedBy;
+        }
+
+        /**
+         * Runs once: from close(), or from the cleaner when the unit was dropped without closing
+         */
+        @Override
+        public void run() {
+            OPEN.remove(id);
+            if (!closed) {
+                LEAKED.increment();
+                System.err.println("Unit of work " + purpose + " opened on " + thread + " was never closed");
+                if (openedBy != null) {
+                    openedBy.printStackTrace();
+                }
+            }
+            try {
+                EntityTransaction tx = em.getTransaction();
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error rolling back unit of work " + purpose + ": " + e.getMessage());
+            } finally {
+                if (em.isOpen()) {
+                    em.close();
+                }
+                CLOSED.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.complaintmanagement.repository;
+
+/**
+ * How far a username scan got: how many usernames it read and the highest citizen and
+ * authority ids among them. Passed back to the next scan to read only newer accounts.
+ */
+public record UsernameScan(long usernames, long lastCitizenId, long lastAuthorityId) {
+
+    /**
+     * Position before the first account, for a scan of every username
+     */
+    public static final UsernameScan START = new UsernameScan(0, 0, 0);
+}
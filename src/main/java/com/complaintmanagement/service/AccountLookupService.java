@@ -0,0 +1,143 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.model.Citizen;
+import com.complaintmanagement.repository.AccountPrincipal;
+import com.complaintmanagement.repository.AccountRepository;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves login credentials to a citizen or authority account.
+ * A cache miss costs one query on Account_View, instead of a citizen lookup followed by an
+ * authority lookup. Successful logins are remembered for {@code auth.cache.ttl.seconds}
+ * (at most {@code auth.cache.size} accounts), so a burst of re-logins is answered from memory.
+ * Failed logins are never cached. A username the {@link UsernameFilter} can vouch does not exist
+ * is refused without a query; other attempts that would reach the database first pass the
+ * {@link LoginThrottle}, and refused attempts fail with {@link LoginThrottledException} without one.
+ */
+public final class AccountLookupService {
+
+    private static final AccountLookupService SHARED = new AccountLookupService(new AccountRepository(),
+        Integer.parseInt(DatabaseConfig.getSetting("auth.cache.size", "1000")),
+        Long.parseLong(DatabaseConfig.getSetting("auth.cache.ttl.seconds", "900")),
+        new LoginThrottle(
+            Integer.parseInt(DatabaseConfig.getSetting("login.throttle.username.capacity", "5")),
+            Double.parseDouble(DatabaseConfig.getSetting("login.throttle.username.per.minute", "5")),
+            Integer.parseInt(DatabaseConfig.getSetting("login.throttle.global.capacity", "50")),
+            Double.parseDouble(DatabaseConfig.getSetting("login.throttle.global.per.second", "20")),
+            Integer.parseInt(DatabaseConfig.getSetting("login.throttle.stripes", "4096"))),
+        UsernameFilter.shared());
+
+    private final AccountRepository accountRepository;
+    private final PrincipalCache cache;
+    private final LoginThrottle throttle;
+    private final UsernameFilter usernames;
+
+    public AccountLookupService(AccountRepository accountRepository, int cacheSize, long cacheTtlSeconds,
+                                LoginThrottle throttle, UsernameFilter usernames) {
+        this.accountRepository = accountRepository;
+        this.cache = new PrincipalCache(cacheSize, TimeUnit.SECONDS.toMillis(cacheTtlSeconds));
+        this.throttle = throttle;
+        this.usernames = usernames;
+    }
+
+    /**
+     * The lookup service shared by the whole application
+     */
+    public static AccountLookupService shared() {
+        return SHARED;
+    }
+
+    /**
+     * The account whose username and password match, or empty.
+     * Completes immediately for a recently authenticated account, and fails immediately with
+     * {@link LoginThrottledException} when the username or the application is over its limit.
+     */
+    public CompletableFuture<Optional<AccountPrincipal>> authenticate(String username, String password) {
+        Optional<AccountPrincipal> cached = cache.get(username, password);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (!usernames.mightExist(username)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        try {
+            throttle.acquire(username);
+        } catch (LoginThrottledException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return accountRepository.findAccountByCredentials(username, password).thenApply(account -> {
+            // A mistyped password leaves the cached login alone; only a successful one replaces it
+            account.ifPresent(principal -> {
+                cache.put(principal, password);
+                // Reaches the filter even if this login raced its first build
+                usernames.add(username);
+            });
+            return account;
+        });
+    }
+
+    /**
+     * True if a citizen or authority has this username; a definite miss of the filter needs no query
+     */
+    public CompletableFuture<Boolean> usernameExists(String username) {
+        if (!usernames.mightExist(username)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return accountRepository.usernameExists(username).thenApply(exists -> {
+            if (exists) {
+                usernames.add(username);
+            } else if (usernames.isBuilt()) {
+                usernames.recordFalsePositive();
+            }
+            return exists;
+        });
+    }
+
+    /**
+     * Save a new citizen account and make its username known to the filter
+     */
+    public CompletableFuture<Citizen> registerCitizen(Citizen citizen) {
+        return accountRepository.createCitizen(citizen).thenApply(created -> {
+            usernames.add(created.getCitizen_username());
+            return created;
+        });
+    }
+
+    /**
+     * Forget a cached login, e.g. after the account's password changed
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Forget every cached login
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int cachedAccounts() {
+        return cache.size();
+    }
+
+    public long cacheHits() {
+        return cache.hits();
+    }
+
+    public long cacheMisses() {
+        return cache.misses();
+    }
+
+    public LoginThrottle.Metrics throttleMetrics() {
+        return throttle.metrics();
+    }
+
+    public UsernameFilter.Metrics usernameFilterMetrics() {
+        return usernames.metrics();
+    }
+}
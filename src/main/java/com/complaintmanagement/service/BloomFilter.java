@@ -0,0 +1,99 @@
+package com.complaintmanagement.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter of strings. "Not contained" is always right; "maybe contained" is
+ * wrong with roughly the false-positive rate it was sized for, which rises as more strings are
+ * added than expected. Bits are set with atomic OR, so adds and lookups need no lock.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long expected;
+    private final LongAdder added = new LongAdder();
+
+    /**
+     * Sized for the expected number of strings at the target false-positive rate
+     */
+    BloomFilter(long expected, double falsePositiveRate) {
+        this.expected = Math.max(1, expected);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-this.expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = 64L * wordCount;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / this.expected * ln2));
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            if ((current & mask) == 0) {
+                words.getAndUpdate(word, w -> w | mask);
+            }
+        }
+        added.increment();
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bits() {
+        return bits;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    long expected() {
+        return expected;
+    }
+
+    long added() {
+        return added.sum();
+    }
+
+    long sizeBytes() {
+        return bits / 8;
+    }
+
+    /**
+     * Expected false-positive rate for the strings added so far
+     */
+    double falsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashes * added() / bits), hashes);
+    }
+
+    /** 64-bit FNV-1a over the characters, finished with the SplitMix64 mixer */
+    private static long hash(String value) {
+        long z = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            z ^= value.charAt(i);
+            z *= 0x100000001B3L;
+        }
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
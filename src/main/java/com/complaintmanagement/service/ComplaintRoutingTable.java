@@ -0,0 +1,180 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.model.ComplaintTypeRoute;
+import com.complaintmanagement.model.Department;
+import com.complaintmanagement.repository.DepartmentRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the Complaint_Type_Route table.
+ * The table is read once into an immutable snapshot; resolving a complaint type to its
+ * department is then an array lookup by type id with no database access. A snapshot older than
+ * routing.reload.interval.seconds is replaced in the background on next use, so route
+ * changes are picked up without restarting the application.
+ */
+public final class ComplaintRoutingTable {
+
+    /** Route used for "Other" and for any type without its own row */
+    public static final String FALLBACK_TYPE = "Other";
+
+    private static final ComplaintRoutingTable SHARED = new ComplaintRoutingTable(new DepartmentRepository());
+
+    private final DepartmentRepository departmentRepository;
+    private final long reloadIntervalMillis;
+    private volatile Routes routes;
+    private final AtomicReference<CompletableFuture<Routes>> loading = new AtomicReference<>();
+
+    public ComplaintRoutingTable(DepartmentRepository departmentRepository) {
+        this.departmentRepository = departmentRepository;
+        this.reloadIntervalMillis = 1000L * Long.parseLong(
+            DatabaseConfig.getSetting("routing.reload.interval.seconds", "300"));
+    }
+
+    /**
+     * The routing table shared by the whole application
+     */
+    public static ComplaintRoutingTable shared() {
+        return SHARED;
+    }
+
+    /**
+     * Current routes. Completes immediately once a snapshot exists (starting a
+     * background reload if it is stale); only the very first call waits for the database.
+     */
+    public CompletableFuture<Routes> load() {
+        Routes current = routes;
+        if (current == null) {
+            return reload();
+        }
+        if (System.currentTimeMillis() - current.loadedAt() > reloadIntervalMillis) {
+            reload();
+        }
+        return CompletableFuture.completedFuture(current);
+    }
+
+    /**
+     * Re-read the table and swap in a new snapshot. Concurrent callers share one query.
+     */
+    public CompletableFuture<Routes> reload() {
+        CompletableFuture<Routes> pending = new CompletableFuture<>();
+        CompletableFuture<Routes> running = loading.compareAndExchange(null, pending);
+        if (running != null) {
+            return running;
+        }
+        departmentRepository.findRoutes().whenComplete((rows, error) -> {
+            loading.set(null);
+            if (error != null) {
+                System.err.println("Error loading complaint routes: " + error.getMessage());
+                // Keep serving the previous snapshot if there is one
+                Routes previous = routes;
+                if (previous != null) {
+                    pending.complete(previous);
+                } else {
+                    pending.completeExceptionally(error);
+                }
+                return;
+            }
+            Routes loaded = Routes.of(rows);
+            if (loaded.types().isEmpty()) {
+                System.err.println("Complaint_Type_Route is empty - run sql_scripts/complaint_type_route.sql");
+            }
+            routes = loaded;
+            System.out.println("Loaded " + loaded.types().size() + " complaint type routes");
+            pending.complete(loaded);
+        });
+        return pending;
+    }
+
+    /**
+     * Immutable routing snapshot. Each complaint type has a small id, its position in {@link #types()};
+     * departments are stored in an array indexed by that id.
+     */
+    public static final class Routes {
+
+        /** Returned by {@link #typeId(String)} for a type without a route */
+        public static final int UNKNOWN_TYPE = -1;
+
+        private final List<String> types;
+        private final Department[] departments;
+        /** Type ids keyed by the instances in types, so values taken from types() resolve by reference */
+        private final IdentityHashMap<String, Integer> canonicalIds;
+        private final Map<String, Integer> typeIds;
+        private final int fallbackId;
+        private final long loadedAt;
+
+        private Routes(List<String> types, Department[] departments, long loadedAt) {
+            this.types = types;
+            this.departments = departments;
+            this.canonicalIds = new IdentityHashMap<>(types.size());
+            Map<String, Integer> ids = new HashMap<>();
+            for (int id = 0; id < types.size(); id++) {
+                canonicalIds.put(types.get(id), id);
+                ids.put(types.get(id), id);
+            }
+            this.typeIds = Map.copyOf(ids);
+            this.fallbackId = typeIds.getOrDefault(FALLBACK_TYPE, UNKNOWN_TYPE);
+            this.loadedAt = loadedAt;
+        }
+
+        static Routes of(List<ComplaintTypeRoute> rows) {
+            List<String> types = new ArrayList<>(rows.size());
+            Department[] departments = new Department[rows.size()];
+            for (ComplaintTypeRoute row : rows) {
+                departments[types.size()] = row.getDepartment();
+                types.add(row.getComplaint_type());
+            }
+            return new Routes(List.copyOf(types), departments, System.currentTimeMillis());
+        }
+
+        /**
+         * Complaint types in display order; a type's id is its index
+         */
+        public List<String> types() {
+            return types;
+        }
+
+        public long loadedAt() {
+            return loadedAt;
+        }
+
+        /**
+         * Id of a complaint type, or {@link #UNKNOWN_TYPE}. A value taken from {@link #types()} is found
+         * by reference; any other string is looked up by content once.
+         */
+        public int typeId(String complaintType) {
+            if (complaintType == null) {
+                return UNKNOWN_TYPE;
+            }
+            Integer id = canonicalIds.get(complaintType);
+            if (id == null) {
+                id = typeIds.get(complaintType);
+            }
+            return id == null ? UNKNOWN_TYPE : id;
+        }
+
+        /**
+         * Department for a type id, falling back to the "Other" route; null if neither exists
+         */
+        public Department departmentFor(int typeId) {
+            if (typeId >= 0 && typeId < departments.length) {
+                return departments[typeId];
+            }
+            return fallbackId == UNKNOWN_TYPE ? null : departments[fallbackId];
+        }
+
+        /**
+         * Department for a complaint type, falling back to the "Other" route; null if neither exists
+         */
+        public Department departmentFor(String complaintType) {
+            return departmentFor(typeId(complaintType));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.ComplaintText;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Full-text search over complaint titles and descriptions for the authority dashboard.
+ * The index lives in memory: it is built from the database in the background after
+ * startup, complaints registered through the application are added as they are saved,
+ * and {@link #rebuild()} re-reads everything to pick up complaints saved by other processes
+ * (bulk imports, other instances). The dashboard's Refresh button asks for a rebuild, and a
+ * search starts one in the background once the index is older than {@code search.index.refresh.minutes}.
+ * A rebuild fills a fresh index while searches keep using the current one, then swaps it in
+ * together with any complaints added in the meantime.
+ */
+public final class ComplaintSearchIndex {
+
+    private static final ComplaintSearchIndex SHARED = new ComplaintSearchIndex(new ComplaintRepository(),
+        Long.parseLong(DatabaseConfig.getSetting("search.index.refresh.minutes", "10")));
+
+    private final ComplaintRepository complaintRepository;
+    private final long refreshMillis;
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean built;
+    private volatile long builtAt;
+    private final AtomicReference<CompletableFuture<Integer>> rebuilding = new AtomicReference<>();
+    /** Complaints added while a rebuild is scanning; guarded by this */
+    private List<ComplaintText> addedDuringRebuild;
+
+    /**
+     * @param refreshMinutes rebuild once the index is this old (0 never)
+     */
+    public ComplaintSearchIndex(ComplaintRepository complaintRepository, long refreshMinutes) {
+        this.complaintRepository = complaintRepository;
+        this.refreshMillis = TimeUnit.MINUTES.toMillis(refreshMinutes);
+    }
+
+    /**
+     * The index shared by the whole application
+     */
+    public static ComplaintSearchIndex shared() {
+        return SHARED;
+    }
+
+    /**
+     * True once the first build has finished; until then searches return nothing
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Number of indexed complaints
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Best matches for the query within one department (null for all), highest score first.
+     * Runs in memory on the calling thread, and starts a background rebuild when the index is due for one.
+     */
+    public List<SearchHit> search(Long deptId, String query, int limit) {
+        long age = System.currentTimeMillis() - builtAt;
+        if (built && refreshMillis > 0 && age > refreshMillis) {
+            rebuild();
+        }
+        return index.search(deptId, query, limit);
+    }
+
+    /**
+     * Index a complaint that has just been saved
+     */
+    public synchronized void add(Complaint complaint) {
+        ComplaintText text = ComplaintText.of(complaint);
+        index.add(text);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(text);
+        }
+    }
+
+    /**
+     * Re-read every complaint into a new index and swap it in. Concurrent callers share one rebuild.
+     * Completes with the number of indexed complaints.
+     */
+    public CompletableFuture<Integer> rebuild() {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> running = rebuilding.compareAndExchange(null, pending);
+        if (running != null) {
+            return running;
+        }
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        long startedAt = System.nanoTime();
+        InvertedIndex fresh = new InvertedIndex();
+        complaintRepository.scanText(fresh::add).whenComplete((count, error) -> {
+            int size;
+            synchronized (this) {
+                List<ComplaintText> added = addedDuringRebuild;
+                addedDuringRebuild = null;
+                if (error == null) {
+                    // Saved after the scan passed them. Check all before adding any: the scanned
+                    // documents are in id order, so the lookups can bisect until something is appended
+                    List<ComplaintText> missed = added.stream()
+                        .filter(text -> !fresh.containsInIdOrder(text.deptId(), text.complaintId()))
+                        .toList();
+                    missed.forEach(fresh::add);
+                    index = fresh;
+                    built = true;
+                    builtAt = System.currentTimeMillis();
+                }
+                size = index.size();
+            }
+            rebuilding.set(null);
+            if (error != null) {
+                System.err.println("Error building complaint search index: " + error.getMessage());
+                pending.completeExceptionally(error);
+                return;
+            }
+            System.out.println("Indexed " + size + " complaints for search in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + " ms");
+            pending.complete(size);
+        });
+        return pending;
+    }
+}
@@ -0,0 +1,10 @@
+package com.complaintmanagement.service;
+
+import java.util.Date;
+
+/**
+ * An open complaint that looks like a near-duplicate of one being filed, with the estimated
+ * Jaccard similarity of their texts (0..1)
+ */
+public record DuplicateCandidate(long complaintId, String title, float similarity, Date complaintDate) {
+}
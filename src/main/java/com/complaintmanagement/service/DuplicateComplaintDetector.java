@@ -0,0 +1,160 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.model.Complaint;
+import com.complaintmanagement.repository.ComplaintRepository;
+import com.complaintmanagement.repository.RecentComplaint;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Spots complaints that repeat one already open in the same department and pincode, so a
+ * citizen can link a new complaint to the existing one instead of filing it again.
+ * Only open, unlinked complaints filed within the last {@code duplicates.window.days} are
+ * considered; texts are compared by MinHash with LSH bucketing (see {@link MinHashLshIndex}),
+ * so a lookup costs the same however many complaints are open.
+ * Like {@link ComplaintSearchIndex} the index is built in the background after startup, kept
+ * current as complaints are filed and closed, and {@link #rebuild()} re-reads it from the database.
+ */
+public final class DuplicateComplaintDetector {
+
+    private static final DuplicateComplaintDetector SHARED = new DuplicateComplaintDetector(new ComplaintRepository(),
+        Integer.parseInt(DatabaseConfig.getSetting("duplicates.window.days", "14")),
+        Float.parseFloat(DatabaseConfig.getSetting("duplicates.similarity.threshold", "0.5")));
+
+    private static final long EVICT_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final ComplaintRepository complaintRepository;
+    private final long windowMillis;
+    private final float threshold;
+    private volatile MinHashLshIndex index = new MinHashLshIndex();
+    private volatile boolean built;
+    private volatile long lastEvictedAt = System.currentTimeMillis();
+    private final AtomicReference<CompletableFuture<Integer>> rebuilding = new AtomicReference<>();
+    /** Complaints added and removed while a rebuild is scanning; guarded by this */
+    private List<RecentComplaint> addedDuringRebuild;
+    private Set<Long> removedDuringRebuild;
+
+    public DuplicateComplaintDetector(ComplaintRepository complaintRepository, int windowDays, float threshold) {
+        this.complaintRepository = complaintRepository;
+        this.windowMillis = TimeUnit.DAYS.toMillis(windowDays);
+        this.threshold = threshold;
+    }
+
+    /**
+     * The detector shared by the whole application
+     */
+    public static DuplicateComplaintDetector shared() {
+        return SHARED;
+    }
+
+    /**
+     * True once the first build has finished; until then no duplicates are reported
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Number of open complaints currently considered
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Open complaints of the department and pincode that look like the given text, most similar
+     * first. Runs in memory on the calling thread.
+     */
+    public List<DuplicateCandidate> findDuplicates(Long deptId, String pincode, String title,
+                                                   String description, int limit) {
+        return index.candidates(deptId, pincode, title, description, windowStart(), threshold, limit);
+    }
+
+    /**
+     * Consider a complaint that has just been saved (its department and citizen must be loaded).
+     * Complaints linked to another one are not added, so later duplicates match the original.
+     */
+    public synchronized void add(Complaint complaint) {
+        if (complaint.getDuplicate_of() != null) {
+            return;
+        }
+        RecentComplaint recent = RecentComplaint.of(complaint);
+        index.add(recent);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(recent);
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastEvictedAt > EVICT_INTERVAL_MILLIS) {
+            lastEvictedAt = now;
+            index.evictBefore(windowStart());
+        }
+    }
+
+    /**
+     * Stop considering a complaint, e.g. once it is closed
+     */
+    public synchronized void remove(long complaintId) {
+        index.remove(complaintId);
+        if (removedDuringRebuild != null) {
+            removedDuringRebuild.add(complaintId);
+        }
+    }
+
+    /**
+     * Re-read the open complaints of the window into a new index and swap it in. Concurrent
+     * callers share one rebuild. Completes with the number of complaints considered.
+     */
+    public CompletableFuture<Integer> rebuild() {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> running = rebuilding.compareAndExchange(null, pending);
+        if (running != null) {
+            return running;
+        }
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+            removedDuringRebuild = new HashSet<>();
+        }
+        long startedAt = System.nanoTime();
+        MinHashLshIndex fresh = new MinHashLshIndex();
+        complaintRepository.scanOpenSince(windowStart(), fresh::add).whenComplete((count, error) -> {
+            int size;
+            synchronized (this) {
+                List<RecentComplaint> added = addedDuringRebuild;
+                Set<Long> removed = removedDuringRebuild;
+                addedDuringRebuild = null;
+                removedDuringRebuild = null;
+                if (error == null) {
+                    // The scan may have read complaints before they were closed, or run before new ones were saved
+                    added.stream().filter(recent -> !fresh.contains(recent.complaintId())).forEach(fresh::add);
+                    removed.forEach(fresh::remove);
+                    index = fresh;
+                    built = true;
+                    lastEvictedAt = System.currentTimeMillis();
+                }
+                size = index.size();
+            }
+            rebuilding.set(null);
+            if (error != null) {
+                System.err.println("Error building duplicate complaint index: " + error.getMessage());
+                pending.completeExceptionally(error);
+                return;
+            }
+            System.out.println("Loaded " + size + " open complaints for duplicate detection in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + " ms");
+            pending.complete(size);
+        });
+        return pending;
+    }
+
+    private Date windowStart() {
+        return new Date(System.currentTimeMillis() - windowMillis);
+    }
+}
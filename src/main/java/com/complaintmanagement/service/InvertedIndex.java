@@ -0,0 +1,248 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.repository.ComplaintText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over complaint titles and descriptions, partitioned by department.
+ * Each department keeps its own postings (parallel arrays of document numbers and term
+ * frequencies), so a department-scoped search only touches that department's complaints.
+ * Results are ranked with BM25; title terms count {@value #TITLE_WEIGHT} times.
+ * Many concurrent searches may run alongside a single writer.
+ */
+final class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+        "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "with", "we", "our", "my",
+        "i", "me", "there", "not", "no", "since", "been", "very", "please");
+
+    private final Map<Long, DepartmentIndex> departments = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    /**
+     * Index one complaint
+     */
+    void add(ComplaintText text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(text.title(), TITLE_WEIGHT, frequencies) + count(text.description(), 1, frequencies);
+        lock.writeLock().lock();
+        try {
+            departments.computeIfAbsent(text.deptId(), id -> new DepartmentIndex())
+                .add(text.complaintId(), length, frequencies);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True if the complaint is already indexed. Only valid while the department's documents
+     * are in id order, i.e. for an index filled by a scan ordered by complaint_id.
+     */
+    boolean containsInIdOrder(Long deptId, long complaintId) {
+        lock.readLock().lock();
+        try {
+            DepartmentIndex department = departments.get(deptId);
+            return department != null
+                && Arrays.binarySearch(department.complaintIds, 0, department.docCount, complaintId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches for the query, highest score first. A null department searches all of them.
+     */
+    List<SearchHit> search(Long deptId, String query, int limit) {
+        List<String> terms = new ArrayList<>(frequencies(query).keySet());
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1,
+            (left, right) -> Float.compare(left.score(), right.score()));
+        lock.readLock().lock();
+        try {
+            if (deptId != null) {
+                DepartmentIndex department = departments.get(deptId);
+                if (department != null) {
+                    department.search(terms, limit, best);
+                }
+            } else {
+                for (DepartmentIndex department : departments.values()) {
+                    department.search(terms, limit, best);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort((left, right) -> Float.compare(right.score(), left.score()));
+        return hits;
+    }
+
+    private static Map<String, Integer> frequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        count(text, 1, frequencies);
+        return frequencies;
+    }
+
+    /**
+     * Add the weighted terms of the text to the frequencies; returns the weighted term count
+     */
+    private static int count(String text, int weight, Map<String, Integer> frequencies) {
+        List<String> terms = terms(text);
+        for (String term : terms) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    /**
+     * The normalized terms of the text in order, as indexed and searched
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = normalize(lower.substring(start, i));
+                if (term != null) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Drop stop words and one-letter tokens; fold simple English plurals onto the singular
+     */
+    static String normalize(String token) {
+        if (token.length() < 2 || STOP_WORDS.contains(token)) {
+            return null;
+        }
+        int n = token.length();
+        if (n > 4 && token.endsWith("ies")) {
+            return token.substring(0, n - 3) + "y";
+        }
+        if (n > 4 && (token.endsWith("ches") || token.endsWith("shes") || token.endsWith("sses")
+                || token.endsWith("xes") || token.endsWith("zes"))) {
+            return token.substring(0, n - 2);
+        }
+        if (n > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+            return token.substring(0, n - 1);
+        }
+        return token;
+    }
+
+    /**
+     * Postings and document statistics of one department
+     */
+    private static final class DepartmentIndex {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private long[] complaintIds = new long[16];
+        private int[] lengths = new int[16];
+        private int docCount;
+        private long totalLength;
+
+        void add(long complaintId, int length, Map<String, Integer> frequencies) {
+            if (docCount == complaintIds.length) {
+                complaintIds = Arrays.copyOf(complaintIds, docCount * 2);
+                lengths = Arrays.copyOf(lengths, docCount * 2);
+            }
+            int doc = docCount;
+            complaintIds[doc] = complaintId;
+            lengths[doc] = length;
+            frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new Postings()).add(doc, frequency));
+            totalLength += length;
+            docCount++;
+        }
+
+        /**
+         * Score every document containing a query term and keep the best in the shared queue
+         */
+        void search(List<String> terms, int limit, PriorityQueue<SearchHit> best) {
+            if (docCount == 0) {
+                return;
+            }
+            float averageLength = (float) totalLength / docCount;
+            Map<Integer, float[]> scores = new HashMap<>();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    int frequency = list.frequencies[i] & 0xFF;
+                    float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    float score = (float) (idf * frequency * (K1 + 1) / (frequency + norm));
+                    scores.computeIfAbsent(doc, d -> new float[1])[0] += score;
+                }
+            }
+            for (Map.Entry<Integer, float[]> entry : scores.entrySet()) {
+                float score = entry.getValue()[0];
+                if (best.size() < limit) {
+                    best.add(new SearchHit(complaintIds[entry.getKey()], score));
+                } else if (score > best.peek().score()) {
+                    best.poll();
+                    best.add(new SearchHit(complaintIds[entry.getKey()], score));
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable parallel arrays of document numbers (ascending) and term frequencies (capped at 255)
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private byte[] frequencies = new byte[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = (byte) Math.min(frequency, 255);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.complaintmanagement.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets limiting login attempts that reach the database: one per username and one for
+ * the whole application. Each bucket is a single long (the time its tokens will have refilled,
+ * i.e. the generic cell rate algorithm) updated with compare-and-set, so checking costs no lock
+ * and no allocation. Username buckets are a fixed array of stripes chosen by hash; usernames
+ * sharing a stripe share a bucket, and made-up usernames cannot grow memory.
+ * The limits are per application instance and need no coordination: with several instances
+ * on one database, the database sees at most the instance count times the global rate.
+ */
+public final class LoginThrottle {
+
+    private final TokenBuckets usernames;
+    private final TokenBuckets global;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByUsername = new LongAdder();
+    private final LongAdder rejectedGlobally = new LongAdder();
+    private final AtomicLong lastRejectedAt = new AtomicLong();
+
+    /**
+     * @param usernameCapacity attempts one username may make in a burst
+     * @param usernamePerMinute attempts per minute one username regains
+     * @param globalCapacity attempts all users together may make in a burst
+     * @param globalPerSecond attempts per second all users together regain
+     * @param stripes number of username buckets (rounded up to a power of two)
+     */
+    public LoginThrottle(int usernameCapacity, double usernamePerMinute,
+                         int globalCapacity, double globalPerSecond, int stripes) {
+        this.usernames = new TokenBuckets(Integer.highestOneBit(Math.max(1, stripes - 1)) << 1,
+            usernameCapacity, TimeUnit.MINUTES.toNanos(1) / usernamePerMinute);
+        this.global = new TokenBuckets(1, globalCapacity, TimeUnit.SECONDS.toNanos(1) / globalPerSecond);
+    }
+
+    /**
+     * Take a token from the username's bucket and the global bucket, or throw without taking any
+     */
+    public void acquire(String username) {
+        int stripe = stripe(username);
+        long now = usernames.now();
+        long wait = usernames.tryTake(stripe, now);
+        if (wait > 0) {
+            reject(rejectedByUsername, now);
+            throw new LoginThrottledException("Too many login attempts for this username", TimeUnit.NANOSECONDS.toMillis(wait));
+        }
+        wait = global.tryTake(0, now);
+        if (wait > 0) {
+            usernames.giveBack(stripe);
+            reject(rejectedGlobally, now);
+            throw new LoginThrottledException("Too many login attempts", TimeUnit.NANOSECONDS.toMillis(wait));
+        }
+        allowed.increment();
+    }
+
+    public Metrics metrics() {
+        long last = lastRejectedAt.get();
+        return new Metrics(allowed.sum(), rejectedByUsername.sum(), rejectedGlobally.sum(),
+            last == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(usernames.now() - last));
+    }
+
+    private void reject(LongAdder counter, long now) {
+        counter.increment();
+        lastRejectedAt.set(Math.max(now, 1));
+    }
+
+    private int stripe(String username) {
+        int h = username.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (usernames.size() - 1);
+    }
+
+    /**
+     * Attempts let through and refused since startup, and milliseconds since the last refusal (-1 if none)
+     */
+    public record Metrics(long allowed, long rejectedByUsername, long rejectedGlobally, long millisSinceLastRejection) {
+
+        public long rejected() {
+            return rejectedByUsername + rejectedGlobally;
+        }
+    }
+
+    /**
+     * Buckets stored as the time each is full again; zero means full
+     */
+    private static final class TokenBuckets {
+        private final AtomicLongArray fullAt;
+        private final long interval;
+        private final long burst;
+        private final long origin = System.nanoTime();
+
+        TokenBuckets(int count, int capacity, double intervalNanos) {
+            this.fullAt = new AtomicLongArray(count);
+            this.interval = Math.max(1, (long) intervalNanos);
+            this.burst = interval * Math.max(1, capacity);
+        }
+
+        int size() {
+            return fullAt.length();
+        }
+
+        /** Nanoseconds since the buckets were created; never negative */
+        long now() {
+            return System.nanoTime() - origin;
+        }
+
+        /**
+         * Take one token; returns 0 on success, else the nanoseconds until one is available
+         */
+        long tryTake(int i, long now) {
+            while (true) {
+                long current = fullAt.get(i);
+                long next = Math.max(current, now) + interval;
+                if (next - now > burst) {
+                    return next - now - burst;
+                }
+                if (fullAt.compareAndSet(i, current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        void giveBack(int i) {
+            fullAt.getAndAdd(i, -interval);
+        }
+    }
+}
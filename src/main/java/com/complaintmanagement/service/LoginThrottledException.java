@@ -0,0 +1,23 @@
+package com.complaintmanagement.service;
+
+/**
+ * A login attempt refused by {@link LoginThrottle} before any database work
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public LoginThrottledException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * How long until an attempt would be accepted again
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
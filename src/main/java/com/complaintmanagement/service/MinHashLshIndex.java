@@ -0,0 +1,269 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.repository.RecentComplaint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures of recent complaint texts, bucketed with locality-sensitive hashing.
+ * A text is reduced to its set of word shingles (single terms and adjacent pairs) and summarised
+ * by {@value #HASHES} minimum hash values; the fraction of equal positions in two signatures
+ * estimates the Jaccard similarity of the shingle sets. Signatures are split into {@value #BANDS}
+ * bands of {@value #ROWS} rows and a complaint is only compared with those sharing at least one
+ * whole band in the same department and pincode, so a lookup touches a handful of candidates
+ * instead of every open complaint.
+ * Many concurrent lookups may run alongside a single writer.
+ */
+final class MinHashLshIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<BucketKey, List<Long>> buckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index one complaint; texts without any usable term are skipped
+     */
+    void add(RecentComplaint complaint) {
+        int[] signature = signature(complaint.title(), complaint.description());
+        if (signature == null) {
+            return;
+        }
+        Entry entry = new Entry(complaint.complaintId(), complaint.deptId(), complaint.pincode(),
+            complaint.title(), complaint.complaintDate(), signature);
+        lock.writeLock().lock();
+        try {
+            if (entries.putIfAbsent(entry.complaintId, entry) != null) {
+                return;
+            }
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(entry.bucket(band), key -> new ArrayList<>(2)).add(entry.complaintId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean contains(long complaintId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(complaintId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forget a complaint, e.g. once it is closed
+     */
+    void remove(long complaintId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(complaintId);
+            if (entry != null) {
+                unbucket(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forget every complaint filed before the cutoff; returns how many were dropped
+     */
+    int evictBefore(Date cutoff) {
+        int evicted = 0;
+        lock.writeLock().lock();
+        try {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.complaintDate.before(cutoff)) {
+                    it.remove();
+                    unbucket(entry);
+                    evicted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return evicted;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed complaints of the department and pincode filed since the cutoff whose estimated
+     * similarity to the text is at least the threshold, most similar first
+     */
+    List<DuplicateCandidate> candidates(Long deptId, String pincode, String title, String description,
+                                        Date since, float threshold, int limit) {
+        int[] signature = signature(title, description);
+        if (signature == null || limit <= 0) {
+            return List.of();
+        }
+        String area = Objects.requireNonNullElse(pincode, "");
+        List<DuplicateCandidate> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<Long> bucket = buckets.get(new BucketKey(deptId, area, band, bandHash(signature, band)));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Long id : bucket) {
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    Entry entry = entries.get(id);
+                    if (entry.complaintDate.before(since)) {
+                        continue;
+                    }
+                    float similarity = similarity(signature, entry.signature);
+                    if (similarity >= threshold) {
+                        found.add(new DuplicateCandidate(entry.complaintId, entry.title, similarity,
+                            entry.complaintDate));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort((left, right) -> Float.compare(right.similarity(), left.similarity()));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    private void unbucket(Entry entry) {
+        for (int band = 0; band < BANDS; band++) {
+            BucketKey key = entry.bucket(band);
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(entry.complaintId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fraction of equal positions, the MinHash estimate of Jaccard similarity
+     */
+    static float similarity(int[] left, int[] right) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (left[i] == right[i]) {
+                equal++;
+            }
+        }
+        return (float) equal / HASHES;
+    }
+
+    /**
+     * MinHash signature of the shingles of the text, or null when it has no usable term
+     */
+    static int[] signature(String title, String description) {
+        List<String> terms = InvertedIndex.terms(title);
+        terms.addAll(InvertedIndex.terms(description));
+        if (terms.isEmpty()) {
+            return null;
+        }
+        Set<String> shingles = new HashSet<>(terms);
+        for (int i = 1; i < terms.size(); i++) {
+            shingles.add(terms.get(i - 1) + ' ' + terms.get(i));
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = fnv(shingle);
+            for (int i = 0; i < HASHES; i++) {
+                int h = (int) (mix(base ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static int bandHash(int[] signature, int band) {
+        int hash = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return hash;
+    }
+
+    /** 64-bit FNV-1a over the characters */
+    private static long fnv(String s) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            hash ^= s.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /** SplitMix64 finaliser */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record BucketKey(Long deptId, String pincode, int band, int hash) {
+    }
+
+    private static final class Entry {
+        private final long complaintId;
+        private final Long deptId;
+        private final String pincode;
+        private final String title;
+        private final Date complaintDate;
+        private final int[] signature;
+
+        Entry(long complaintId, Long deptId, String pincode, String title, Date complaintDate, int[] signature) {
+            this.complaintId = complaintId;
+            this.deptId = deptId;
+            this.pincode = Objects.requireNonNullElse(pincode, "");
+            this.title = title;
+            this.complaintDate = complaintDate;
+            this.signature = signature;
+        }
+
+        BucketKey bucket(int band) {
+            return new BucketKey(deptId, pincode, band, bandHash(signature, band));
+        }
+    }
+}
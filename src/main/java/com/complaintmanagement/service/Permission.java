@@ -0,0 +1,26 @@
+package com.complaintmanagement.service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Actions a signed-in account may take
+ */
+public enum Permission {
+    FILE_COMPLAINT,
+    VIEW_OWN_COMPLAINTS,
+    VIEW_DEPARTMENT_COMPLAINTS,
+    SEARCH_COMPLAINTS,
+    RESPOND_TO_COMPLAINT,
+    CLOSE_COMPLAINT,
+    EXPORT_COMPLAINTS;
+
+    static Set<Permission> forCitizen() {
+        return EnumSet.of(FILE_COMPLAINT, VIEW_OWN_COMPLAINTS);
+    }
+
+    static Set<Permission> forAuthority() {
+        return EnumSet.of(VIEW_DEPARTMENT_COMPLAINTS, SEARCH_COMPLAINTS, RESPOND_TO_COMPLAINT,
+            CLOSE_COMPLAINT, EXPORT_COMPLAINTS);
+    }
+}
@@ -0,0 +1,156 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.migration.MigrationRunner;
+import com.complaintmanagement.migration.SchemaStatus;
+import com.complaintmanagement.repository.AccountRepository;
+import com.complaintmanagement.repository.DepartmentRepository;
+import com.complaintmanagement.repository.RepositoryExecutor;
+import com.complaintmanagement.repository.SchemaVerifier;
+import com.complaintmanagement.repository.StatusCounterRepository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts the persistence layer in the background while the login screen is shown.
+ * Main.init() calls {@link #start()}: the EntityManagerFactory is built, the connection
+ * pool is filled to its minimum idle size and the queries every session needs first
+ * (login lookups, departments, complaint routes, status counters) run once so their
+ * query plans, pooled connections and cache entries are in place before the first login.
+ */
+public final class PersistenceBootstrap {
+
+    /** Username that never exists; the login lookup runs with it only to warm its path */
+    private static final String WARM_UP_USERNAME = "\u0000warm-up";
+
+    private static final PersistenceBootstrap SHARED = new PersistenceBootstrap();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<Long> ready = new CompletableFuture<>();
+
+    private PersistenceBootstrap() {}
+
+    /**
+     * The bootstrap shared by the whole application
+     */
+    public static PersistenceBootstrap shared() {
+        return SHARED;
+    }
+
+    /**
+     * Begin bootstrapping off the calling thread. Only the first call does any work.
+     * Completes with the time taken in milliseconds, or exceptionally when the database is unavailable.
+     */
+    public CompletableFuture<Long> start() {
+        if (started.compareAndSet(false, true)) {
+            long startedAt = System.nanoTime();
+            CompletableFuture.runAsync(DatabaseConfig::initialize, RepositoryExecutor.get())
+                .thenCompose(ignored -> warmUp())
+                .whenComplete((ignored, error) -> {
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    if (error != null) {
+                        System.err.println("Persistence warm-up failed after " + millis + " ms: " + error.getMessage());
+                        ready.completeExceptionally(error);
+                    } else {
+                        System.out.println("Persistence layer ready in " + millis + " ms");
+                        ready.complete(millis);
+                        // Build the in-memory indexes afterwards; logins should not wait for them
+                        ComplaintSearchIndex.shared().rebuild();
+                        DuplicateComplaintDetector.shared().rebuild();
+                        UsernameFilter.shared().rebuild();
+                    }
+                });
+        }
+        return ready;
+    }
+
+    /**
+     * Completes once the persistence layer is warm; starts the bootstrap if nobody has yet
+     */
+    public CompletableFuture<Long> ready() {
+        return start();
+    }
+
+    /**
+     * True once bootstrap and warm-up finished successfully
+     */
+    public boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    private CompletableFuture<Void> warmUp() {
+        if (DatabaseConfig.getEntityManagerFactory() == null) {
+            throw new IllegalStateException("Database not available");
+        }
+        int connections = DatabaseConfig.warmConnectionPool();
+        System.out.println("Connection pool warmed with " + connections + " connections");
+        
+        AccountRepository accounts = new AccountRepository();
+        return CompletableFuture.allOf(
+            accounts.findAccountByCredentials(WARM_UP_USERNAME, ""),
+            new DepartmentRepository().findAll(),
+            ComplaintRoutingTable.shared().reload(),
+            rebuildCountersIfEmpty(),
+            validateSchema(),
+            verifyIndexes());
+    }
+
+    /**
+     * Populate the status counters on the first run against an existing database
+     */
+    private CompletableFuture<Void> rebuildCountersIfEmpty() {
+        return new StatusCounterRepository().rebuildIfEmpty().handle((rebuilt, error) -> {
+            if (error != null) {
+                System.err.println("Could not check status counters: " + error.getMessage());
+            } else if (rebuilt) {
+                System.out.println("Status counters built from existing complaints");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Validate the schema version (one query; migrations only run from SchemaMigrationTool)
+     */
+    private CompletableFuture<Void> validateSchema() {
+        return CompletableFuture.supplyAsync(() -> new MigrationRunner().validate(), RepositoryExecutor.get())
+            .handle((status, error) -> {
+                if (error != null) {
+                    System.err.println("Could not validate schema version: " + error.getMessage());
+                } else {
+                    logSchemaStatus(status);
+                }
+                return null;
+            });
+    }
+
+    /**
+     * Report declared indexes that are missing or stale; the dashboards still work without them, only slower
+     */
+    private CompletableFuture<Void> verifyIndexes() {
+        return new SchemaVerifier().findIndexProblems().handle((problems, error) -> {
+            if (error != null) {
+                System.err.println("Could not verify indexes: " + error.getMessage());
+            } else if (problems.isEmpty()) {
+                System.out.println("Declared indexes verified");
+            } else {
+                problems.forEach(problem -> System.err.println("Index check: " + problem));
+                System.err.println("Run sql_scripts/dashboard_indexes.sql, then status_rank.sql, to create the missing indexes");
+            }
+            return null;
+        });
+    }
+
+    private static void logSchemaStatus(SchemaStatus status) {
+        if (status.isCurrent()) {
+            System.out.println("Schema version V" + status.currentVersion() + " verified");
+            return;
+        }
+        status.pending().forEach(migration -> System.err.println(
+            "Schema check: V" + migration.version() + " " + migration.description() + " is not applied"));
+        status.problems().forEach(problem -> System.err.println("Schema check: " + problem));
+        System.err.println("Run mvn exec:java@migrate (or SchemaMigrationTool) to update the schema");
+    }
+}
@@ -0,0 +1,105 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.repository.AccountPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Recently authenticated accounts, so a user logging in again (e.g. at shift change) is answered
+ * without a database round trip. Bounded to the most recently used entries and each entry expires
+ * a fixed time after the login that stored it, which also bounds how long a changed password or
+ * removed account can still log in from this process.
+ * Passwords are never held: an entry keeps a salted SHA-256 digest to check the next attempt against.
+ */
+final class PrincipalCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final byte[] salt = new byte[16];
+    /** Access-ordered, so the eldest entry is the least recently used; guarded by this */
+    private final LinkedHashMap<String, Entry> entries;
+    private long hits;
+    private long misses;
+
+    PrincipalCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        new SecureRandom().nextBytes(salt);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The cached principal if the username was authenticated recently with this password
+     */
+    synchronized Optional<AccountPrincipal> get(String username, String password) {
+        Entry entry = entries.get(username);
+        if (entry == null || System.currentTimeMillis() >= entry.expiresAt) {
+            if (entry != null) {
+                entries.remove(username);
+            }
+            misses++;
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(entry.digest, digest(username, password))) {
+            // Perhaps the password was changed; let the database decide
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.principal);
+    }
+
+    synchronized void put(AccountPrincipal principal, String password) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(principal.username(), new Entry(principal, digest(principal.username(), password),
+            System.currentTimeMillis() + ttlMillis));
+    }
+
+    synchronized void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(salt);
+            sha.update(username.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            return sha.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(AccountPrincipal principal, byte[] digest, long expiresAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.complaintmanagement.service;
+
+/**
+ * One complaint matching a full-text search
+ *
+ * @param complaintId the matching complaint
+ * @param score       BM25 relevance within the searched department; higher is better
+ */
+public record SearchHit(long complaintId, float score) {}
@@ -0,0 +1,85 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.model.Authority;
+import com.complaintmanagement.model.Citizen;
+import com.complaintmanagement.repository.AccountPrincipal;
+import com.complaintmanagement.repository.AccountRepository;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Who is signed in to this application window. {@link #signIn(AccountPrincipal)} loads the
+ * account once at login; navigation between screens then reads the {@link UserSession} with
+ * no query, and {@link #signOut()} discards it on logout.
+ */
+public final class SessionContext {
+
+    private static final SessionContext SHARED = new SessionContext(new AccountRepository());
+
+    private final AccountRepository accountRepository;
+    private final AtomicReference<UserSession> current = new AtomicReference<>();
+
+    public SessionContext(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * The session shared by the whole application
+     */
+    public static SessionContext shared() {
+        return SHARED;
+    }
+
+    /**
+     * Load the authenticated account and make it the current session
+     */
+    public CompletableFuture<UserSession> signIn(AccountPrincipal principal) {
+        CompletableFuture<UserSession> loaded = principal.role() == AccountPrincipal.Role.CITIZEN
+            ? accountRepository.findCitizen(principal.accountId())
+                .thenApply(citizen -> UserSession.forCitizen(principal, citizen.orElseThrow(
+                    () -> new IllegalStateException("Citizen " + principal.accountId() + " no longer exists"))))
+            : accountRepository.findAuthority(principal.accountId())
+                .thenApply(authority -> UserSession.forAuthority(principal, authority.orElseThrow(
+                    () -> new IllegalStateException("Authority " + principal.accountId() + " no longer exists"))));
+        return loaded.thenApply(session -> {
+            current.set(session);
+            return session;
+        });
+    }
+
+    /**
+     * Discard the current session
+     */
+    public void signOut() {
+        UserSession ended = current.getAndSet(null);
+        if (ended != null) {
+            System.out.println("Signed out: " + ended.principal().username());
+        }
+    }
+
+    public Optional<UserSession> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * The signed-in citizen if it is the one with this id
+     */
+    public Optional<Citizen> citizen(Long citizenId) {
+        return current().map(UserSession::citizen)
+            .filter(citizen -> citizen.getCitizen_id().equals(citizenId));
+    }
+
+    /**
+     * The signed-in authority if it is the one with this id
+     */
+    public Optional<Authority> authority(Long authorityId) {
+        return current().map(UserSession::authority)
+            .filter(authority -> authority.getAuthority_id().equals(authorityId));
+    }
+
+    public boolean has(Permission permission) {
+        return current().map(session -> session.has(permission)).orElse(false);
+    }
+}
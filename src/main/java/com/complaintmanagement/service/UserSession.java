@@ -0,0 +1,46 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.model.Authority;
+import com.complaintmanagement.model.Citizen;
+import com.complaintmanagement.repository.AccountPrincipal;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The signed-in account as loaded once at login: a detached Citizen or Authority (with its
+ * Department), and what it may do. Screens read it instead of loading the account again.
+ * Exactly one of citizen and authority is set.
+ */
+public record UserSession(AccountPrincipal principal, Citizen citizen, Authority authority,
+                          Set<Permission> permissions, long signedInAt) {
+
+    static UserSession forCitizen(AccountPrincipal principal, Citizen citizen) {
+        return new UserSession(principal, citizen, null,
+            Collections.unmodifiableSet(Permission.forCitizen()), System.currentTimeMillis());
+    }
+
+    static UserSession forAuthority(AccountPrincipal principal, Authority authority) {
+        return new UserSession(principal, null, authority,
+            Collections.unmodifiableSet(Permission.forAuthority()), System.currentTimeMillis());
+    }
+
+    public boolean isCitizen() {
+        return citizen != null;
+    }
+
+    public Long accountId() {
+        return principal.accountId();
+    }
+
+    /**
+     * The authority's department, or null for a citizen
+     */
+    public Long departmentId() {
+        return authority == null ? null : authority.getDepartment().getDept_id();
+    }
+
+    public boolean has(Permission permission) {
+        return permissions.contains(permission);
+    }
+}
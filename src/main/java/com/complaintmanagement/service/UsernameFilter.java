@@ -0,0 +1,252 @@
+package com.complaintmanagement.service;
+
+import com.complaintmanagement.config.DatabaseConfig;
+import com.complaintmanagement.repository.AccountRepository;
+import com.complaintmanagement.repository.UsernameScan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers "does this username exist?" from memory when the answer is no.
+ * All citizen and authority usernames are streamed into a {@link BloomFilter} in the background
+ * after startup, and accounts created through the application are added as they are saved, so a
+ * miss is trusted and answered without a query. A possible hit still has to be confirmed by the database.
+ * Accounts inserted by SQL scripts or another instance are picked up by a refresh that reads only
+ * usernames with ids above the highest seen so far, started by a lookup once the last one is older
+ * than {@code usernames.filter.refresh.seconds}; until then such an account is refused as unknown.
+ * Ids come from pooled sequence blocks, so another instance can still save an account below that
+ * mark; the full rebuild every {@code usernames.filter.rebuild.minutes} picks those up, and also
+ * resizes the filter, which is rebuilt early when it holds more usernames than it was sized for.
+ */
+public final class UsernameFilter {
+
+    private static final UsernameFilter SHARED = new UsernameFilter(new AccountRepository(),
+        Long.parseLong(DatabaseConfig.getSetting("usernames.filter.expected", "100000")),
+        Double.parseDouble(DatabaseConfig.getSetting("usernames.filter.false.positive.rate", "0.01")),
+        Long.parseLong(DatabaseConfig.getSetting("usernames.filter.refresh.seconds", "30")),
+        Long.parseLong(DatabaseConfig.getSetting("usernames.filter.rebuild.minutes", "60")));
+
+    private final AccountRepository accountRepository;
+    private final long minimumExpected;
+    private final double falsePositiveRate;
+    private final long refreshMillis;
+    private final long rebuildMillis;
+    private volatile BloomFilter filter;
+    private volatile long builtAt;
+    private volatile long refreshedAt;
+    /** Highest ids read into the filter; guarded by this */
+    private UsernameScan scanned = UsernameScan.START;
+    private final AtomicReference<CompletableFuture<Long>> rebuilding = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Long>> refreshing = new AtomicReference<>();
+    /** Usernames added while a rebuild is scanning; guarded by this */
+    private List<String> addedDuringRebuild;
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder refreshedUsernames = new LongAdder();
+
+    /**
+     * @param refreshSeconds read accounts newer than the filter once the last refresh is this old (0 never)
+     * @param rebuildMinutes re-read every username once the filter is this old (0 never)
+     */
+    public UsernameFilter(AccountRepository accountRepository, long expected, double falsePositiveRate,
+                          long refreshSeconds, long rebuildMinutes) {
+        this.accountRepository = accountRepository;
+        this.minimumExpected = expected;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshMillis = TimeUnit.SECONDS.toMillis(refreshSeconds);
+        this.rebuildMillis = TimeUnit.MINUTES.toMillis(rebuildMinutes);
+    }
+
+    /**
+     * The filter shared by the whole application
+     */
+    public static UsernameFilter shared() {
+        return SHARED;
+    }
+
+    /**
+     * True once the first build has finished; until then every username might exist
+     */
+    public boolean isBuilt() {
+        return filter != null;
+    }
+
+    /**
+     * False only if no account has this username (as of the last refresh).
+     * Starts a background refresh or rebuild when the filter is due for one.
+     */
+    public boolean mightExist(String username) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (rebuildMillis > 0 && now - builtAt > rebuildMillis) {
+            rebuild();
+        } else if (refreshMillis > 0 && now - refreshedAt > refreshMillis) {
+            refresh();
+        }
+        if (current.mightContain(username)) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    /**
+     * Record that a username the filter might have held turned out not to exist
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Add the username of an account that has just been saved
+     */
+    public synchronized void add(String username) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(username)) {
+            current.put(username);
+            if (current.added() > current.expected()) {
+                rebuild();
+            }
+        }
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(username);
+        }
+    }
+
+    /**
+     * Read the usernames of accounts saved since the filter last looked (ids above the highest seen)
+     * into the filter. Concurrent callers share one refresh; does nothing before the first build.
+     * Completes with the number of usernames read.
+     */
+    public CompletableFuture<Long> refresh() {
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        CompletableFuture<Long> running = refreshing.compareAndExchange(null, pending);
+        if (running != null) {
+            return running;
+        }
+        UsernameScan after;
+        synchronized (this) {
+            after = scanned;
+        }
+        refreshedAt = System.currentTimeMillis();
+        if (filter == null) {
+            refreshing.set(null);
+            pending.complete(0L);
+            return pending;
+        }
+        List<String> found = new ArrayList<>();
+        accountRepository.scanUsernames(after, found::add).whenComplete((scan, error) -> {
+            if (error == null) {
+                synchronized (this) {
+                    found.forEach(this::add);
+                    advanceTo(scan);
+                }
+                refreshedUsernames.add(scan.usernames());
+            }
+            refreshing.set(null);
+            if (error != null) {
+                System.err.println("Error refreshing username filter: " + error.getMessage());
+                pending.completeExceptionally(error);
+                return;
+            }
+            pending.complete(scan.usernames());
+        });
+        return pending;
+    }
+
+    /**
+     * Re-read every username into a new filter and swap it in. Concurrent callers share one rebuild.
+     * Completes with the number of usernames read.
+     */
+    public CompletableFuture<Long> rebuild() {
+        CompletableFuture<Long> pending = new CompletableFuture<>();
+        CompletableFuture<Long> running = rebuilding.compareAndExchange(null, pending);
+        if (running != null) {
+            return running;
+        }
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        long startedAt = System.nanoTime();
+        accountRepository.countAccounts()
+            .thenCompose(count -> {
+                // Room to grow before the false-positive rate degrades
+                BloomFilter fresh = new BloomFilter(Math.max(minimumExpected, 2 * count), falsePositiveRate);
+                return accountRepository.scanUsernames(UsernameScan.START, fresh::put)
+                    .thenApply(scan -> Map.entry(fresh, scan));
+            })
+            .whenComplete((built, error) -> {
+                synchronized (this) {
+                    List<String> added = addedDuringRebuild;
+                    addedDuringRebuild = null;
+                    if (error == null) {
+                        BloomFilter fresh = built.getKey();
+                        added.forEach(fresh::put);
+                        filter = fresh;
+                        advanceTo(built.getValue());
+                        builtAt = System.currentTimeMillis();
+                        refreshedAt = builtAt;
+                    }
+                }
+                rebuilding.set(null);
+                if (error != null) {
+                    System.err.println("Error building username filter: " + error.getMessage());
+                    pending.completeExceptionally(error);
+                    return;
+                }
+                BloomFilter fresh = built.getKey();
+                System.out.println("Loaded " + fresh.added() + " usernames into a " + fresh.sizeBytes() / 1024
+                    + " KB filter in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + " ms");
+                pending.complete(fresh.added());
+            });
+        return pending;
+    }
+
+    /**
+     * Move the highest ids seen forward; a refresh and a rebuild may finish in either order
+     */
+    private void advanceTo(UsernameScan scan) {
+        scanned = new UsernameScan(0, Math.max(scanned.lastCitizenId(), scan.lastCitizenId()),
+            Math.max(scanned.lastAuthorityId(), scan.lastAuthorityId()));
+    }
+
+    public Metrics metrics() {
+        BloomFilter current = filter;
+        long hits = possibleHits.sum();
+        long wrong = falsePositives.sum();
+        return new Metrics(
+            current == null ? 0 : current.added(),
+            current == null ? 0 : current.bits(),
+            current == null ? 0 : current.hashes(),
+            current == null ? 0 : current.sizeBytes(),
+            current == null ? 1 : current.falsePositiveRate(),
+            definiteMisses.sum(), refreshedUsernames.sum(), hits, wrong);
+    }
+
+    /**
+     * Size of the filter and how well it answers. The expected false-positive rate is computed from
+     * its fill; the observed one counts possible hits that the database later found to be missing
+     * (only known where a caller checks the username itself, see {@link #recordFalsePositive()}).
+     * Refreshed usernames were created outside the application and read by a refresh.
+     */
+    public record Metrics(long usernames, long bits, int hashes, long memoryBytes,
+                          double expectedFalsePositiveRate, long definiteMisses, long refreshedUsernames,
+                          long possibleHits, long falsePositives) {
+
+        public double observedFalsePositiveRate() {
+            long negatives = definiteMisses + falsePositives;
+            return negatives == 0 ? 0 : (double) falsePositives / negatives;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+-- =====================================================
+-- V1: INITIAL SCHEMA
+-- =====================================================
+-- Complete schema as of the switch from hibernate.hbm2ddl.auto=update to
+-- versioned migrations. Collects what used to be spread over the entity
+-- mappings and sql_scripts (sequence_ids, response_sequence,
+-- complaint_status_counter, complaint_type_route, complaint_version,
+-- status_rank, dashboard_indexes).
+--
+-- Databases that were kept up to date with those scripts (and seeded by
+-- database_population.sql) already match V1 and V2, but nothing later: run
+-- `baseline` (which records V1..V2 by default) and then `migrate` to apply
+-- V3 onwards. Never baseline such a database past V2.
+-- =====================================================
+
+-- Id sequences, read in blocks of 50 by the application (pooled-lo)
+CREATE SEQUENCE Department_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Citizen_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Authority_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Complaint_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE Response_SEQ START WITH 1 INCREMENT BY 50 CACHE 20 NOORDER;
+
+CREATE TABLE Department (
+    dept_id   NUMBER(19) DEFAULT Department_SEQ.NEXTVAL NOT NULL,
+    dept_name VARCHAR2(255 CHAR) NOT NULL,
+    CONSTRAINT pk_department PRIMARY KEY (dept_id),
+    CONSTRAINT uk_department_name UNIQUE (dept_name)
+);
+
+CREATE TABLE Citizen (
+    citizen_id       NUMBER(19) DEFAULT Citizen_SEQ.NEXTVAL NOT NULL,
+    citizen_username VARCHAR2(255 CHAR) NOT NULL,
+    citizen_password VARCHAR2(255 CHAR) NOT NULL,
+    citizen_name     VARCHAR2(255 CHAR),
+    citizen_city     VARCHAR2(255 CHAR),
+    citizen_pincode  VARCHAR2(255 CHAR),
+    citizen_phone    VARCHAR2(255 CHAR),
+    citizen_email    VARCHAR2(255 CHAR),
+    CONSTRAINT pk_citizen PRIMARY KEY (citizen_id),
+    CONSTRAINT uk_citizen_username UNIQUE (citizen_username),
+    CONSTRAINT uk_citizen_email UNIQUE (citizen_email)
+);
+
+CREATE TABLE Authority (
+    authority_id          NUMBER(19) DEFAULT Authority_SEQ.NEXTVAL NOT NULL,
+    authority_username    VARCHAR2(255 CHAR) NOT NULL,
+    authority_password    VARCHAR2(255 CHAR) NOT NULL,
+    dept_id               NUMBER(19) NOT NULL,
+    authority_designation VARCHAR2(255 CHAR),
+    authority_email       VARCHAR2(255 CHAR),
+    CONSTRAINT pk_authority PRIMARY KEY (authority_id),
+    CONSTRAINT uk_authority_username UNIQUE (authority_username),
+    CONSTRAINT uk_authority_email UNIQUE (authority_email),
+    CONSTRAINT fk_authority_dept FOREIGN KEY (dept_id) REFERENCES Department (dept_id)
+);
+
+CREATE TABLE Complaint (
+    complaint_id    NUMBER(19) DEFAULT Complaint_SEQ.NEXTVAL NOT NULL,
+    complaint_type  VARCHAR2(255 CHAR),
+    dept_id         NUMBER(19) NOT NULL,
+    complaint_title VARCHAR2(255 CHAR),
+    complaint_descp VARCHAR2(255 CHAR),
+    resolve_status  VARCHAR2(255 CHAR) NOT NULL,
+    status_rank     NUMBER(10) NOT NULL,
+    complaint_date  TIMESTAMP(6),
+    citizen_id      NUMBER(19) NOT NULL,
+    version         NUMBER(19) DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_complaint PRIMARY KEY (complaint_id),
+    CONSTRAINT ck_complaint_status CHECK (resolve_status IN ('UNREAD', 'READ', 'IN_PROGRESS', 'CLOSED')),
+    CONSTRAINT fk_complaint_dept FOREIGN KEY (dept_id) REFERENCES Department (dept_id),
+    CONSTRAINT fk_complaint_citizen FOREIGN KEY (citizen_id) REFERENCES Citizen (citizen_id)
+);
+
+CREATE TABLE Response (
+    complaint_id  NUMBER(19) NOT NULL,
+    authority_id  NUMBER(19) NOT NULL,
+    response_id   NUMBER(19) NOT NULL,
+    response      VARCHAR2(255 CHAR),
+    response_date TIMESTAMP(6),
+    read_status   VARCHAR2(255 CHAR),
+    CONSTRAINT pk_response PRIMARY KEY (authority_id, complaint_id, response_id),
+    CONSTRAINT fk_response_complaint FOREIGN KEY (complaint_id) REFERENCES Complaint (complaint_id),
+    CONSTRAINT fk_response_authority FOREIGN KEY (authority_id) REFERENCES Authority (authority_id)
+);
+
+CREATE TABLE Complaint_Status_Counter (
+    counter_scope   VARCHAR2(255 CHAR) NOT NULL,
+    scope_id        NUMBER(19) NOT NULL,
+    resolve_status  VARCHAR2(255 CHAR) NOT NULL,
+    complaint_count NUMBER(19) NOT NULL,
+    CONSTRAINT pk_complaint_status_counter PRIMARY KEY (counter_scope, scope_id, resolve_status)
+);
+
+CREATE TABLE Complaint_Type_Route (
+    complaint_type VARCHAR2(255 CHAR) NOT NULL,
+    dept_id        NUMBER(19) NOT NULL,
+    display_order  NUMBER(10) NOT NULL,
+    CONSTRAINT pk_complaint_type_route PRIMARY KEY (complaint_type),
+    CONSTRAINT fk_complaint_type_route_dept FOREIGN KEY (dept_id) REFERENCES Department (dept_id)
+);
+
+-- Dashboard access paths (declared with @Index on the entities)
+CREATE INDEX idx_complaint_citizen_date ON Complaint (citizen_id, complaint_date);
+CREATE INDEX idx_complaint_dept_rank_date ON Complaint (dept_id, status_rank, complaint_date DESC, complaint_id DESC);
+CREATE INDEX idx_response_complaint_date ON Response (complaint_id, response_date);
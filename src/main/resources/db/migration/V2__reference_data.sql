@@ -0,0 +1,56 @@
+-- =====================================================
+-- V2: REFERENCE DATA
+-- =====================================================
+-- Departments and the complaint type routes the registration form depends on
+-- (from database_population.sql section 1 and complaint_type_route.sql).
+-- Sample citizens, authorities and complaints stay in database_population.sql.
+-- =====================================================
+
+-- Municipal departments
+INSERT INTO Department (dept_name) VALUES ('Public Works Department');
+INSERT INTO Department (dept_name) VALUES ('Water Supply Department');
+INSERT INTO Department (dept_name) VALUES ('Electricity Department');
+INSERT INTO Department (dept_name) VALUES ('Roads and Highways Department');
+INSERT INTO Department (dept_name) VALUES ('Sanitation and Waste Management');
+INSERT INTO Department (dept_name) VALUES ('Drainage and Sewerage Department');
+INSERT INTO Department (dept_name) VALUES ('Public Safety Department');
+INSERT INTO Department (dept_name) VALUES ('Traffic Management Department');
+INSERT INTO Department (dept_name) VALUES ('Environmental Protection Department');
+INSERT INTO Department (dept_name) VALUES ('Urban Planning Department');
+INSERT INTO Department (dept_name) VALUES ('Public Transport Department');
+INSERT INTO Department (dept_name) VALUES ('Street Lighting Department');
+INSERT INTO Department (dept_name) VALUES ('Building and Construction Department');
+INSERT INTO Department (dept_name) VALUES ('Health and Hygiene Department');
+INSERT INTO Department (dept_name) VALUES ('General Administration');
+
+-- Complaint type -> department routes ("Other" is the fallback)
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Infrastructure Issue', dept_id, 1 FROM Department WHERE dept_name = 'Public Works Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Public Safety', dept_id, 2 FROM Department WHERE dept_name = 'Public Safety Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Sanitation & Hygiene', dept_id, 3 FROM Department WHERE dept_name = 'Sanitation and Waste Management';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Water Supply', dept_id, 4 FROM Department WHERE dept_name = 'Water Supply Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Electricity', dept_id, 5 FROM Department WHERE dept_name = 'Electricity Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Road Maintenance', dept_id, 6 FROM Department WHERE dept_name = 'Roads and Highways Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Drainage Problem', dept_id, 7 FROM Department WHERE dept_name = 'Drainage and Sewerage Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Noise Pollution', dept_id, 8 FROM Department WHERE dept_name = 'Environmental Protection Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Air Pollution', dept_id, 9 FROM Department WHERE dept_name = 'Environmental Protection Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Illegal Construction', dept_id, 10 FROM Department WHERE dept_name = 'Public Works Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Street Lighting', dept_id, 11 FROM Department WHERE dept_name = 'Street Lighting Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Garbage Collection', dept_id, 12 FROM Department WHERE dept_name = 'Sanitation and Waste Management';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Public Transport', dept_id, 13 FROM Department WHERE dept_name = 'Public Transport Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Traffic Management', dept_id, 14 FROM Department WHERE dept_name = 'Traffic Management Department';
+INSERT INTO Complaint_Type_Route (complaint_type, dept_id, display_order)
+SELECT 'Other', dept_id, 15 FROM Department WHERE dept_name = 'General Administration';
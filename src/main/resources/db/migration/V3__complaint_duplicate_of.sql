@@ -0,0 +1,14 @@
+-- =====================================================
+-- V3: NEAR-DUPLICATE LINKS
+-- =====================================================
+-- A complaint the citizen chose to link to an open complaint about the same
+-- issue points at it; authorities can answer the original once.
+-- =====================================================
+
+ALTER TABLE Complaint ADD (duplicate_of NUMBER(19));
+
+ALTER TABLE Complaint ADD CONSTRAINT fk_complaint_duplicate_of
+    FOREIGN KEY (duplicate_of) REFERENCES Complaint (complaint_id);
+
+-- Linked complaints of one original; also keeps the foreign key from locking Complaint
+CREATE INDEX idx_complaint_duplicate_of ON Complaint (duplicate_of);
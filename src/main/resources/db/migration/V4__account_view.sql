@@ -0,0 +1,22 @@
+-- =====================================================
+-- V4: UNIFIED ACCOUNT LOOKUP
+-- =====================================================
+-- One row per login account. Logins query the view by username; Oracle
+-- pushes the predicate into both branches, so a lookup is a single round
+-- trip of two probes on uk_citizen_username and uk_authority_username.
+-- =====================================================
+
+CREATE OR REPLACE VIEW Account_View AS
+SELECT 'CITIZEN'             AS account_role,
+       citizen_id            AS account_id,
+       citizen_username      AS username,
+       citizen_password      AS password,
+       citizen_name          AS display_name
+FROM Citizen
+UNION ALL
+SELECT 'AUTHORITY'           AS account_role,
+       authority_id          AS account_id,
+       authority_username    AS username,
+       authority_password    AS password,
+       authority_designation AS display_name
+FROM Authority;
@@ -0,0 +1,9 @@
+-- =====================================================
+-- V5: NO SYSTEM-WIDE STATUS COUNTER ROWS
+-- =====================================================
+-- Every complaint change used to update the same SYSTEM row per status,
+-- serializing all writers on it. System totals are now summed from the
+-- DEPARTMENT rows; the old rows are no longer maintained.
+-- =====================================================
+
+DELETE FROM Complaint_Status_Counter WHERE counter_scope = 'SYSTEM';